@@ -0,0 +1,80 @@
+package org.example.web.benchmark;
+
+import org.example.web.model.Client;
+import org.example.web.model.Order;
+import org.example.web.model.OrderProduct;
+import org.example.web.model.OrderStatus;
+import org.example.web.model.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Детерминированные сущности для бенчмарков: одинаковые данные от запуска к запуску.
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 9, 10, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    public static Client client(int n) {
+        return Client.builder()
+                .id(new UUID(1, n))
+                .firstName("First" + n)
+                .lastName("Last" + n)
+                .email("client" + n + "@example.com")
+                .phone("+7900" + String.format("%07d", n))
+                .ordersCount((long) n % 50)
+                .build();
+    }
+
+    public static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .id(new UUID(2, i))
+                    .name("Product " + i)
+                    .description("Benchmark product " + i)
+                    .price(BigDecimal.valueOf(100 + i % 10_000, 2))
+                    .version(0L)
+                    .build());
+        }
+        return products;
+    }
+
+    /**
+     * Заказ с позицией на каждый товар из списка - как после загрузки с fetch join.
+     */
+    public static Order order(int n, Client client, List<Product> products) {
+        Order order = Order.builder()
+                .id(new UUID(3, n))
+                .client(client)
+                .status(OrderStatus.NEW)
+                .createdAt(CREATED_AT.plusMinutes(n))
+                .version(0L)
+                .build();
+        int itemsTotal = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            int quantity = 1 + i % 5;
+            order.getItems().add(OrderProduct.builder()
+                    .id(new UUID(4, (long) n * products.size() + i))
+                    .order(order)
+                    .product(product)
+                    .quantity(quantity)
+                    .unitPrice(product.getPrice())
+                    .build());
+            itemsTotal += quantity;
+            totalAmount = totalAmount.add(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+        }
+        order.setItemsTotal(itemsTotal);
+        order.setTotalAmount(totalAmount);
+        return order;
+    }
+}
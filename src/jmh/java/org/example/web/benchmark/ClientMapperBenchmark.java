@@ -0,0 +1,44 @@
+package org.example.web.benchmark;
+
+import org.example.web.dto.client.ClientResponse;
+import org.example.web.mappers.ClientMapper;
+import org.example.web.model.Client;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Страница клиентов через ClientMapper.toResponse вместе с ordersCount - как в GET /api/clients.
+ */
+@State(Scope.Benchmark)
+public class ClientMapperBenchmark {
+
+    @Param({"20", "100", "1000"})
+    int pageSize;
+
+    private final ClientMapper mapper = Mappers.getMapper(ClientMapper.class);
+    private List<Client> clients;
+
+    @Setup
+    public void setUp() {
+        clients = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            clients.add(BenchmarkData.client(i));
+        }
+    }
+
+    @Benchmark
+    public List<ClientResponse> toResponsePage() {
+        List<ClientResponse> page = new ArrayList<>(clients.size());
+        for (Client client : clients) {
+            page.add(mapper.toResponse(client));
+        }
+        return page;
+    }
+}
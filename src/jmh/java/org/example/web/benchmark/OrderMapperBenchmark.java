@@ -0,0 +1,35 @@
+package org.example.web.benchmark;
+
+import org.example.web.dto.order.OrderResponse;
+import org.example.web.mappers.OrderMapper;
+import org.example.web.model.Order;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * OrderMapper.toResponse для заказа с items позициями: стоимость ответа GET /api/orders/{id}
+ * без учёта базы и сериализации.
+ */
+@State(Scope.Benchmark)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    int items;
+
+    private final OrderMapper mapper = Mappers.getMapper(OrderMapper.class);
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(0, BenchmarkData.client(0), BenchmarkData.products(items));
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return mapper.toResponse(order);
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.web.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.web.dto.order.OrderResponse;
+import org.example.web.mappers.OrderMapper;
+import org.example.web.model.Client;
+import org.example.web.model.Product;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Jackson-сериализация Page&lt;OrderResponse&gt; в байты - тело ответа GET /api/orders.
+ * ObjectMapper настроен как в приложении: JavaTimeModule, даты строками.
+ */
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    @Param({"1", "10", "100"})
+    int itemsPerOrder;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private Page<OrderResponse> page;
+
+    @Setup
+    public void setUp() {
+        OrderMapper mapper = Mappers.getMapper(OrderMapper.class);
+        List<Product> products = BenchmarkData.products(itemsPerOrder);
+        List<OrderResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Client client = BenchmarkData.client(i);
+            content.add(mapper.toResponse(BenchmarkData.order(i, client, products)));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize, Sort.by("createdAt").descending()), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return json.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.web.benchmark;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.web.dto.order.OrderFilter;
+import org.example.web.model.Client;
+import org.example.web.model.Order;
+import org.example.web.model.OrderProduct;
+import org.example.web.model.Product;
+import org.example.web.util.OrderSpecs;
+import org.example.web.util.SpecBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Построение предикатов Criteria API из Specification: OrderSpecs.build по полному фильтру
+ * и поиск клиентов SpecBuilder.like + rankBySimilarity. SessionFactory поднимается без базы.
+ */
+@State(Scope.Benchmark)
+public class SpecificationBenchmark {
+
+    private final OrderFilter filter = new OrderFilter("NEW",
+            LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 12, 31, 23, 59), new UUID(2, 1));
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder cb;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+                .applySetting(AvailableSettings.JAKARTA_VALIDATION_MODE, "none")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(Client.class, Order.class, OrderProduct.class, Product.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        cb = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate orderFilter() {
+        CriteriaQuery<Order> query = cb.createQuery(Order.class);
+        Root<Order> root = query.from(Order.class);
+        return OrderSpecs.build(filter).toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public Predicate clientSearch() {
+        CriteriaQuery<Client> query = cb.createQuery(Client.class);
+        Root<Client> root = query.from(Client.class);
+        return clientSearchSpec("ivan", "petrov", "example.com").toPredicate(root, query, cb);
+    }
+
+    /**
+     * та же композиция, что в ClientService.findAll при sort=relevance
+     */
+    private static Specification<Client> clientSearchSpec(String firstName, String lastName, String email) {
+        return Specification
+                .where(SpecBuilder.<Client>like("firstName", firstName))
+                .and(SpecBuilder.like("lastName", lastName))
+                .and(SpecBuilder.like("email", email))
+                .and(SpecBuilder.like("phone", null))
+                .and(SpecBuilder.rankBySimilarity(SpecBuilder.terms(
+                        "firstName", firstName, "lastName", lastName, "email", email)));
+    }
+}
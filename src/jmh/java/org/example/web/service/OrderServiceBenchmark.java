@@ -0,0 +1,76 @@
+package org.example.web.service;
+
+import org.example.web.benchmark.BenchmarkData;
+import org.example.web.dto.orderProduct.OrderProductRequest;
+import org.example.web.model.OrderProduct;
+import org.example.web.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Сборка позиций большого заказа: fetchProducts (проверка дубликатов + снимок ProductCatalog)
+ * и buildItems. Все товары в снимке, поэтому база не нужна; остальные зависимости OrderService не используются.
+ * Лежит в пакете service, так как оба метода package-private.
+ */
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int items;
+
+    private OrderService service;
+    private List<OrderProductRequest> request;
+    private Map<UUID, Product> products;
+
+    @Setup
+    public void setUp() {
+        ProductCatalog catalog = new ProductCatalog(new EmptyJdbcTemplate(), Duration.ofDays(1));
+        catalog.reload();
+        List<Product> all = BenchmarkData.products(items);
+        all.forEach(catalog::put);
+
+        service = new OrderService(null, null, null, null, null, catalog, null, null, null, null, null, null);
+        request = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            request.add(new OrderProductRequest(all.get(i).getId(), 1 + i % 5));
+        }
+        products = service.fetchProducts(request);
+    }
+
+    @Benchmark
+    public Map<UUID, Product> fetchProducts() {
+        return service.fetchProducts(request);
+    }
+
+    @Benchmark
+    public Set<OrderProduct> buildItems() {
+        return service.buildItems(request, products);
+    }
+
+    @Benchmark
+    public Set<OrderProduct> fetchAndBuild() {
+        return service.buildItems(request, service.fetchProducts(request));
+    }
+
+    /**
+     * Пустой каталог при reload(); товары затем добавляются через put.
+     */
+    private static class EmptyJdbcTemplate extends JdbcTemplate {
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.web.loadtest;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Что засеяно в базу: из этих id и термов Workload собирает запросы.
+ */
+public record Dataset(List<UUID> clients,
+                      List<UUID> products,
+                      List<UUID> orders,
+                      List<String> lastNames,
+                      List<String> productWords) {
+}
@@ -0,0 +1,138 @@
+package org.example.web.loadtest;
+
+import org.example.web.util.UuidV7;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Засевает пустую базу пачками JDBC, минуя сервисы: клиенты, товары и заказы по 1-5 позиций.
+ * Заказы в статусе NEW, поэтому витрины продаж остаются пустыми; orders_count пересчитывается в конце.
+ */
+class DatasetSeeder {
+
+    static final List<String> LAST_NAMES = List.of("Ivanov", "Petrov", "Smirnov", "Kuznetsov", "Popov",
+            "Sokolov", "Lebedev", "Kozlov", "Novikov", "Morozov");
+    static final List<String> ADJECTIVES = List.of("Red", "Compact", "Wooden", "Steel", "Silent",
+            "Smart", "Classic", "Portable", "Heavy", "Bright");
+    static final List<String> NOUNS = List.of("Lamp", "Chair", "Kettle", "Backpack", "Keyboard",
+            "Blender", "Monitor", "Notebook", "Speaker", "Jacket");
+
+    private static final int CHUNK = 5_000;
+
+    private final JdbcTemplate jdbc;
+    private final Random random;
+
+    DatasetSeeder(JdbcTemplate jdbc, long seed) {
+        this.jdbc = jdbc;
+        this.random = new Random(seed);
+    }
+
+    Dataset seed(LoadTestSettings settings) {
+        jdbc.execute("TRUNCATE order_products, orders, products, clients, sales_daily_product, sales_daily_client CASCADE");
+
+        List<UUID> products = seedProducts(settings.products());
+        List<UUID> clients = seedClients(settings.clients());
+        List<UUID> orders = seedOrders(clients, products, settings.ordersPerClient());
+
+        jdbc.update("UPDATE clients c SET orders_count = (SELECT count(*) FROM orders o WHERE o.client_id = c.id)");
+        jdbc.execute("ANALYZE");
+        return new Dataset(clients, products, orders, LAST_NAMES, NOUNS);
+    }
+
+    private List<UUID> seedProducts(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(CHUNK);
+        for (int i = 0; i < count; i++) {
+            UUID id = UuidV7.randomUuid();
+            ids.add(id);
+            // номер в названии держит ux_products_name_ci уникальным
+            String name = pick(ADJECTIVES) + " " + pick(NOUNS) + " " + i;
+            rows.add(new Object[]{id, name, "Load test product " + name, BigDecimal.valueOf(100 + random.nextInt(100_000), 2)});
+            if (rows.size() == CHUNK) {
+                insertProducts(rows);
+            }
+        }
+        insertProducts(rows);
+        return ids;
+    }
+
+    private void insertProducts(List<Object[]> rows) {
+        jdbc.batchUpdate("INSERT INTO products (id, name, description, price, version) VALUES (?, ?, ?, ?, 0)", rows);
+        rows.clear();
+    }
+
+    private List<UUID> seedClients(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(CHUNK);
+        for (int i = 0; i < count; i++) {
+            UUID id = UuidV7.randomUuid();
+            ids.add(id);
+            rows.add(new Object[]{id, "Client" + i, pick(LAST_NAMES), "client" + i + "@load.example.com",
+                    String.format("+7900%07d", i)});
+            if (rows.size() == CHUNK) {
+                insertClients(rows);
+            }
+        }
+        insertClients(rows);
+        return ids;
+    }
+
+    private void insertClients(List<Object[]> rows) {
+        jdbc.batchUpdate("INSERT INTO clients (id, first_name, last_name, email, phone, orders_count) "
+                + "VALUES (?, ?, ?, ?, ?, 0)", rows);
+        rows.clear();
+    }
+
+    private List<UUID> seedOrders(List<UUID> clients, List<UUID> products, int ordersPerClient) {
+        List<UUID> ids = new ArrayList<>(clients.size() * ordersPerClient);
+        List<Object[]> orders = new ArrayList<>(CHUNK);
+        List<Object[]> items = new ArrayList<>(CHUNK * 3);
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        for (UUID client : clients) {
+            for (int n = 0; n < ordersPerClient; n++) {
+                UUID orderId = UuidV7.randomUuid();
+                ids.add(orderId);
+                int lines = 1 + random.nextInt(5);
+                int first = random.nextInt(products.size());
+                int itemsTotal = 0;
+                BigDecimal totalAmount = BigDecimal.ZERO;
+                for (int line = 0; line < lines; line++) {
+                    // подряд идущие товары - без дубликатов в одном заказе
+                    UUID product = products.get((first + line) % products.size());
+                    int quantity = 1 + random.nextInt(3);
+                    BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(10_000), 2);
+                    items.add(new Object[]{UuidV7.randomUuid(), orderId, product, quantity, price});
+                    itemsTotal += quantity;
+                    totalAmount = totalAmount.add(price.multiply(BigDecimal.valueOf(quantity)));
+                }
+                Timestamp createdAt = Timestamp.valueOf(start.plusMinutes(random.nextInt(365 * 24 * 60)));
+                orders.add(new Object[]{orderId, createdAt, client, itemsTotal, totalAmount});
+                if (orders.size() == CHUNK) {
+                    insertOrders(orders, items);
+                }
+            }
+        }
+        insertOrders(orders, items);
+        return ids;
+    }
+
+    private void insertOrders(List<Object[]> orders, List<Object[]> items) {
+        jdbc.batchUpdate("INSERT INTO orders (id, created_at, status, client_id, items_total, total_amount, version) "
+                + "VALUES (?, ?, 'NEW', ?, ?, ?, 0)", orders);
+        jdbc.batchUpdate("INSERT INTO order_products (id, order_id, product_id, quantity, unit_price) "
+                + "VALUES (?, ?, ?, ?, ?)", items);
+        orders.clear();
+        items.clear();
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.web.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Латентность по операциям в HdrHistogram (микросекунды). Время считается от запланированного
+ * момента отправки, а не от фактического: если сервис не успевает, очередь попадает в цифры
+ * (без coordinated omission).
+ */
+class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Stats> operations = new LinkedHashMap<>();
+    private final Histogram all = new ConcurrentHistogram(3);
+
+    LatencyReport(List<String> operationNames) {
+        operationNames.forEach(name -> operations.put(name, new Stats()));
+    }
+
+    /**
+     * status == 0 - ответа нет (таймаут, обрыв соединения)
+     */
+    void record(String operation, long intendedNanos, long completedNanos, int status) {
+        long micros = Math.max(1, (completedNanos - intendedNanos) / 1000);
+        Stats stats = operations.get(operation);
+        stats.latency.recordValue(micros);
+        all.recordValue(micros);
+        stats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * summary.json - для diff между прогонами, и по файлу .hgrm на операцию для HdrHistogram plotter.
+     */
+    void write(LoadTestSettings settings, double elapsedSeconds) throws IOException {
+        Path out = settings.out();
+        Files.createDirectories(out);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("settings", Map.of(
+                "rate", settings.rate(),
+                "durationSeconds", settings.duration().toSeconds(),
+                "warmupSeconds", settings.warmup().toSeconds(),
+                "clients", settings.clients(),
+                "products", settings.products(),
+                "ordersPerClient", settings.ordersPerClient(),
+                "seed", settings.seed()));
+        summary.put("total", stats(all, null, elapsedSeconds));
+
+        Map<String, Object> byOperation = new LinkedHashMap<>();
+        for (Map.Entry<String, Stats> e : operations.entrySet()) {
+            byOperation.put(e.getKey(), stats(e.getValue().latency, e.getValue().statuses, elapsedSeconds));
+            writeHistogram(out.resolve(fileName(e.getKey()) + ".hgrm"), e.getValue().latency);
+        }
+        summary.put("operations", byOperation);
+        writeHistogram(out.resolve("total.hgrm"), all);
+
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .writeValue(out.resolve("summary.json").toFile(), summary);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-40s %8s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.forEach((name, stats) -> printRow(out, name, stats.latency, stats.errors()));
+        printRow(out, "total", all, operations.values().stream().mapToLong(Stats::errors).sum());
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram h, long errors) {
+        out.printf("%-40s %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, h.getTotalCount(), errors,
+                millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9), h.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static Map<String, Object> stats(Histogram h, Map<Integer, LongAdder> statuses, double elapsedSeconds) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", h.getTotalCount());
+        stats.put("throughputPerSecond", round(h.getTotalCount() / elapsedSeconds));
+        if (statuses != null) {
+            Map<String, Long> byStatus = new TreeMap<>();
+            statuses.forEach((status, n) -> byStatus.put(String.valueOf(status), n.sum()));
+            stats.put("statuses", byStatus);
+        }
+        Map<String, Double> latency = new LinkedHashMap<>();
+        latency.put("mean", round(h.getMean() / MICROS_PER_MILLI));
+        latency.put("p50", round(millis(h, 50)));
+        latency.put("p90", round(millis(h, 90)));
+        latency.put("p99", round(millis(h, 99)));
+        latency.put("p999", round(millis(h, 99.9)));
+        latency.put("max", round(h.getMaxValue() / MICROS_PER_MILLI));
+        stats.put("latencyMs", latency);
+        return stats;
+    }
+
+    private static void writeHistogram(Path file, Histogram h) throws IOException {
+        try (PrintStream ps = new PrintStream(Files.newOutputStream(file))) {
+            h.outputPercentileDistribution(ps, MICROS_PER_MILLI);
+        }
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * "GET /api/orders/{id}" -> "GET_api_orders_id"
+     */
+    private static String fileName(String operation) {
+        return operation.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("_+$", "");
+    }
+
+    private static final class Stats {
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        long errors() {
+            return statuses.entrySet().stream()
+                    .filter(e -> e.getKey() < 200 || e.getKey() >= 400)
+                    .mapToLong(e -> e.getValue().sum())
+                    .sum();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.web.loadtest;
+
+import org.example.web.WebApplication;
+import org.example.web.service.ProductCatalog;
+import org.example.web.service.ProductNameIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочный прогон REST API с открытой моделью нагрузки: запросы уходят с постоянным темпом
+ * loadtest.rate в секунду независимо от того, успевает ли сервис отвечать.
+ * Приложение поднимается в профиле test (PostgreSQL из Testcontainers) на случайном порту,
+ * база засевается DatasetSeeder-ом, после прогрева пишется отчёт LatencyReport.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        // логирование SQL из профиля test на таком темпе само стало бы узким местом
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(WebApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.example.web=INFO");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            System.out.printf("Seeding: clients=%d, products=%d, ordersPerClient=%d%n",
+                    settings.clients(), settings.products(), settings.ordersPerClient());
+            Dataset dataset = new DatasetSeeder(context.getBean(JdbcTemplate.class), settings.seed()).seed(settings);
+            context.getBean(ProductCatalog.class).reload();
+            context.getBean(ProductNameIndex.class).reload();
+
+            Workload workload = new Workload("http://localhost:" + port, dataset, settings.requestTimeout(), settings.seed());
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            System.out.printf("Warmup: %d s at %d req/s%n", settings.warmup().toSeconds(), settings.rate());
+            run(http, workload, new LatencyReport(workload.operationNames()), settings.rate(), settings.warmup());
+
+            System.out.printf("Measuring: %d s at %d req/s%n", settings.duration().toSeconds(), settings.rate());
+            LatencyReport report = new LatencyReport(workload.operationNames());
+            long t0 = System.nanoTime();
+            run(http, workload, report, settings.rate(), settings.duration());
+            double elapsedSeconds = (System.nanoTime() - t0) / 1e9;
+
+            report.print(System.out);
+            report.write(settings, elapsedSeconds);
+            System.out.println("Report: " + settings.out().toAbsolutePath().resolve("summary.json"));
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Шлёт запросы по расписанию start + i * interval и ждёт ответов на все отправленные.
+     */
+    private static void run(HttpClient http, Workload workload, LatencyReport report, int rate, Duration duration)
+            throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload.Call call = workload.next();
+            inFlight.add(http.sendAsync(call.request(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> report.record(call.operation(), intended, System.nanoTime(),
+                            response != null ? response.statusCode() : 0)));
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                    .exceptionally(e -> null)
+                    .get(1, TimeUnit.MINUTES);
+        } catch (TimeoutException | ExecutionException e) {
+            System.out.println("Some requests did not complete: " + e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.web.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Параметры прогона из системных свойств loadtest.*; значения по умолчанию - короткий прогон на ноутбуке.
+ * seed фиксирует состав данных и последовательность операций, так что прогоны сравнимы между релизами.
+ */
+public record LoadTestSettings(int rate,
+                               Duration warmup,
+                               Duration duration,
+                               Duration requestTimeout,
+                               int clients,
+                               int products,
+                               int ordersPerClient,
+                               long seed,
+                               Path out) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.rate", 200),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 20)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+                Duration.ofSeconds(Long.getLong("loadtest.timeout", 10)),
+                Integer.getInteger("loadtest.clients", 10_000),
+                Integer.getInteger("loadtest.products", 5_000),
+                Integer.getInteger("loadtest.ordersPerClient", 10),
+                Long.getLong("loadtest.seed", 42),
+                Path.of(System.getProperty("loadtest.out", "build/load-test")));
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.web.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Смесь запросов к OrderController, ClientController и ProductController с весами,
+ * примерно повторяющими продовый трафик: чтения по id, списки, поиск и создание заказов.
+ * Не потокобезопасен - запросы выбирает один поток-планировщик.
+ */
+class Workload {
+
+    record Call(String operation, HttpRequest request) {
+    }
+
+    private record Operation(String name, int weight, Function<Workload, HttpRequest> request) {
+    }
+
+    private final List<Operation> operations = List.of(
+            new Operation("GET /api/orders/{id}", 25, w -> w.get("/api/orders/" + w.any(w.dataset.orders()))),
+            new Operation("GET /api/orders", 8, w -> w.get("/api/orders?page=" + w.random.nextInt(20) + "&size=20&count=none")),
+            new Operation("GET /api/orders/{id}/orders", 10, w -> w.get("/api/orders/" + w.any(w.dataset.clients()) + "/orders?size=10")),
+            new Operation("GET /api/orders/{id}/orders/scroll", 5, w -> w.get("/api/orders/" + w.any(w.dataset.clients()) + "/orders/scroll?size=20")),
+            new Operation("POST /api/orders", 10, Workload::createOrder),
+            new Operation("GET /api/clients/{id}", 12, w -> w.get("/api/clients/" + w.any(w.dataset.clients()))),
+            new Operation("GET /api/clients", 5, w -> w.get("/api/clients?lastName=" + w.any(w.dataset.lastNames()) + "&size=20&count=estimate")),
+            new Operation("GET /api/products/{id}", 12, w -> w.get("/api/products/" + w.any(w.dataset.products()))),
+            new Operation("GET /api/products/autocomplete", 8, w -> w.get("/api/products/autocomplete?prefix=" + w.prefix() + "&limit=10")),
+            new Operation("GET /api/products/search", 5, w -> w.get("/api/products/search?q=" + w.any(w.dataset.productWords()) + "&size=20")));
+
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final Duration timeout;
+    private final Random random;
+    private final int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+
+    Workload(String baseUrl, Dataset dataset, Duration timeout, long seed) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.timeout = timeout;
+        this.random = new Random(seed);
+    }
+
+    List<String> operationNames() {
+        return operations.stream().map(Operation::name).toList();
+    }
+
+    Call next() {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return new Call(operation.name(), operation.request().apply(this));
+            }
+        }
+        throw new IllegalStateException("weights do not add up");
+    }
+
+    private HttpRequest createOrder() {
+        int lines = 1 + random.nextInt(5);
+        Set<UUID> products = new LinkedHashSet<>();
+        while (products.size() < lines) {
+            products.add(any(dataset.products()));
+        }
+        List<String> items = new ArrayList<>(lines);
+        for (UUID product : products) {
+            items.add("{\"productId\":\"" + product + "\",\"quantity\":" + (1 + random.nextInt(3)) + "}");
+        }
+        String body = "{\"clientId\":\"" + any(dataset.clients()) + "\",\"status\":\"NEW\",\"products\":["
+                + String.join(",", items) + "]}";
+        return request("/api/orders")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+    }
+
+    private <T> T any(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * первые 2-4 буквы прилагательного из названий товаров
+     */
+    private String prefix() {
+        String word = any(DatasetSeeder.ADJECTIVES);
+        return word.substring(0, Math.min(word.length(), 2 + random.nextInt(3)));
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.web.config;
+
+import org.example.web.repository.SliceRepositoryImpl;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+@Configuration
+@EnableJpaRepositories(basePackages = "org.example.web.repository", repositoryBaseClass = SliceRepositoryImpl.class)
+public class JpaConfig {
+
+}
@@ -0,0 +1,23 @@
+package org.example.web.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Бюджет SQL-запросов на один HTTP-запрос. Ключ endpoints - "МЕТОД шаблон", например
+ * "GET /api/orders/{id}"; эндпоинты без своего бюджета сравниваются с defaultBudget.
+ */
+@ConfigurationProperties("app.queries")
+public record QueryBudgetProperties(@DefaultValue("20") int defaultBudget,
+                                    Map<String, Integer> endpoints) {
+
+    public QueryBudgetProperties {
+        endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+    }
+
+    public int budget(String method, String pattern) {
+        return endpoints.getOrDefault(method + " " + pattern, defaultBudget);
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.web.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.web.dto.ApiError;
+import org.example.web.dto.analytics.ClientDailySales;
+import org.example.web.dto.analytics.DailySales;
+import org.example.web.dto.analytics.ProductSales;
+import org.example.web.service.SalesAnalyticsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics")
+public class AnalyticsController {
+
+    private final SalesAnalyticsService service;
+
+    @Operation(summary = "Daily sales of a product",
+            description = "Units and revenue per day for non-cancelled orders created in [from, to]. "
+                    + "Days without sales are omitted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Daily series"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/products/{productId}/daily")
+    public List<DailySales> productDaily(@Parameter(description = "Product ID", required = true)
+                                         @PathVariable UUID productId,
+                                         @Parameter(description = "First day, inclusive", example = "2025-09-01")
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @Parameter(description = "Last day, inclusive", example = "2025-09-30")
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("GET /api/analytics/products/{id}/daily - productDaily: productId={}, from={}, to={}", productId, from, to);
+
+        return service.productDaily(productId, from, to);
+    }
+
+    @Operation(summary = "Daily purchases of a client",
+            description = "Orders, units and amount per day for non-cancelled orders created in [from, to]. "
+                    + "Days without orders are omitted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Daily series"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/clients/{clientId}/daily")
+    public List<ClientDailySales> clientDaily(@Parameter(description = "Client ID", required = true)
+                                              @PathVariable UUID clientId,
+                                              @Parameter(description = "First day, inclusive", example = "2025-09-01")
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @Parameter(description = "Last day, inclusive", example = "2025-09-30")
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("GET /api/analytics/clients/{id}/daily - clientDaily: clientId={}, from={}, to={}", clientId, from, to);
+
+        return service.clientDaily(clientId, from, to);
+    }
+
+    @Operation(summary = "Top products by revenue",
+            description = "Products with the highest revenue over [from, to], at most 100.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products ordered by revenue, highest first"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/products/top")
+    public List<ProductSales> topProducts(@Parameter(description = "First day, inclusive", example = "2025-09-01")
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @Parameter(description = "Last day, inclusive", example = "2025-09-30")
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @Parameter(description = "Number of products (1..100)", example = "10")
+                                          @RequestParam(defaultValue = "10") int limit) {
+        log.debug("GET /api/analytics/products/top - topProducts: from={}, to={}, limit={}", from, to, limit);
+
+        return service.topProducts(from, to, limit);
+    }
+
+    @Operation(summary = "Rebuild sales analytics",
+            description = "Recomputes the daily aggregates from all orders. Order changes wait until the rebuild commits.")
+    @ApiResponse(responseCode = "204", description = "Aggregates rebuilt")
+    @PostMapping("/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuild() {
+        log.debug("POST /api/analytics/rebuild - rebuild");
+
+        service.rebuild();
+    }
+}
@@ -12,13 +12,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.web.dto.ApiError;
+import org.example.web.dto.CountMode;
 import org.example.web.dto.client.ClientFilter;
 import org.example.web.dto.client.ClientRequest;
 import org.example.web.dto.client.ClientResponse;
 import org.example.web.service.ClientService;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -29,6 +30,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -65,13 +67,9 @@ public class ClientController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ClientResponse create(@Valid @RequestBody ClientRequest req) {
-        long t0 = System.currentTimeMillis();
-        log.info("POST /api/clients - create: firstName={}, lastName={}", req.getFirstName(), req.getLastName());
+        log.debug("POST /api/clients - create: firstName={}, lastName={}", req.getFirstName(), req.getLastName());
 
-        ClientResponse resp = service.create(req);
-
-        log.info("POST /api/clients - success: id={}, durationMs={}", resp.getId(), System.currentTimeMillis() - t0);
-        return resp;
+        return service.create(req);
     }
 
     @Operation(summary = "Get client by ID",
@@ -85,13 +83,9 @@ public class ClientController {
     @GetMapping("/{id}")
     public ClientResponse getOne(@Parameter(description = "Client ID", required = true)
                                  @PathVariable UUID id) {
-        long t0 = System.currentTimeMillis();
-        log.info("GET /api/clients/{id} - getOne: id={}", id);
-
-        ClientResponse resp = service.getOne(id);
+        log.debug("GET /api/clients/{id} - getOne: id={}", id);
 
-        log.info("GET /api/clients/{id} - success: id={}, durationMs={}", resp.getId(), System.currentTimeMillis() - t0);
-        return resp;
+        return service.getOne(id);
     }
 
     @Operation(summary = "Update client",
@@ -109,14 +103,9 @@ public class ClientController {
     public ClientResponse update(@Parameter(description = "Client ID", required = true)
                                  @PathVariable UUID id,
                                  @Valid @RequestBody ClientRequest req) {
-        long t0 = System.currentTimeMillis();
-        log.info("PUT /api/clients/{id} - update: id={}", id);
+        log.debug("PUT /api/clients/{id} - update: id={}", id);
 
-        ClientResponse resp = service.update(id, req);
-
-        log.info("PUT /api/clients/{id} - success: id={}, durationMs={}",
-                resp.getId(), System.currentTimeMillis() - t0);
-        return resp;
+        return service.update(id, req);
     }
 
     @Operation(summary = "Delete client",
@@ -134,31 +123,31 @@ public class ClientController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@Parameter(description = "Client ID", required = true)
                        @PathVariable UUID id) {
-        long t0 = System.currentTimeMillis();
-        log.info("DELETE /api/clients/{id} - delete: id={}", id);
+        log.debug("DELETE /api/clients/{id} - delete: id={}", id);
 
         service.delete(id);
-
-        log.info("DELETE /api/clients/{id} - success: id={}, durationMs={}", id, System.currentTimeMillis() - t0);
     }
 
     @Operation(summary = "List clients",
-            description = "Returns a paginated list of clients with optional filtering.")
+            description = "Returns a paginated list of clients with optional filtering. "
+                    + "Text filters match a substring of at least 3 characters. "
+                    + "Sortable by firstName, lastName, email, phone, ordersCount and relevance (similarity to the filters). "
+                    + "With count=none the response has no totalElements/totalPages, only whether a next page exists.")
     @ApiResponse(responseCode = "200", description = "Page of clients")
     @GetMapping
-    public Page<ClientResponse> list(@ParameterObject ClientFilter filter,
-                                     @ParameterObject @PageableDefault(size = 10,
-                                             sort = "firstName",
-                                             direction = Sort.Direction.ASC) Pageable pageable) {
-        long t0 = System.currentTimeMillis();
-        log.info("GET /api/clients - list: page={}, size={}, sort={}",
-                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
-
-        Page<ClientResponse> resp = service.findAll(filter, pageable);
-
-        log.info("GET /api/clients - success:  page={}, returned={}, total={}, durationMs={}",
-                resp.getNumber(), resp.getNumberOfElements(), resp.getTotalElements(), System.currentTimeMillis() - t0);
-        return resp;
+    public Slice<ClientResponse> list(@ParameterObject ClientFilter filter,
+                                      @ParameterObject @PageableDefault(size = 10,
+                                              sort = "firstName",
+                                              direction = Sort.Direction.ASC) Pageable pageable,
+                                      @Parameter(description = "Total count: exact (default) runs count(*), estimate uses "
+                                              + "planner statistics, none skips counting and returns only hasNext",
+                                              example = "none")
+                                      @RequestParam(defaultValue = "exact") String count) {
+        CountMode countMode = CountMode.of(count);
+        log.debug("GET /api/clients - list: page={}, size={}, sort={}, count={}",
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), countMode);
+
+        return service.findAll(filter, pageable, countMode);
     }
 
 
@@ -2,12 +2,13 @@ package org.example.web.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.web.dto.CountMode;
 import org.example.web.dto.employee.EmployeeFilter;
 import org.example.web.dto.employee.EmployeeRequest;
 import org.example.web.dto.employee.EmployeeResponse;
 import org.example.web.service.EmployeeService;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -39,10 +41,11 @@ public class EmployeeController {
     }
 
     @GetMapping("/employees")
-    public Page<EmployeeResponse> listEmployees (EmployeeFilter filter,
-                                                 @PageableDefault(size=20) Pageable pageable
+    public Slice<EmployeeResponse> listEmployees (EmployeeFilter filter,
+                                                  @PageableDefault(size=20) Pageable pageable,
+                                                  @RequestParam(defaultValue = "exact") String count
     ) {
-        return employeeService.findAll(filter, pageable);
+        return employeeService.findAll(filter, pageable, CountMode.of(count));
     }
 
     @PutMapping("/employees/{id}")
@@ -13,30 +13,50 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.web.dto.ApiError;
+import org.example.web.dto.CountMode;
+import org.example.web.dto.CursorPage;
+import org.example.web.dto.order.OrderBatchResponse;
+import org.example.web.dto.order.OrderBulkStatusRequest;
+import org.example.web.dto.order.OrderBulkStatusResponse;
+import org.example.web.dto.order.OrderExportFormat;
 import org.example.web.dto.order.OrderFilter;
 import org.example.web.dto.order.OrderRequest;
 import org.example.web.dto.order.OrderResponse;
 import org.example.web.dto.orderProduct.ChangeQuantityRequest;
 import org.example.web.dto.orderProduct.OrderProductRequest;
 import org.example.web.model.OrderStatus;
+import org.example.web.service.OrderExportService;
 import org.example.web.service.OrderService;
+import org.example.web.util.ETags;
+import org.example.web.util.PreferHeader;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -47,11 +67,12 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService service;
+    private final OrderExportService exportService;
 
     @Operation(summary = "Create a new order",
             description = "Creates an order with the given data and returns the created order.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Order created successfully"),
+            @ApiResponse(responseCode = "201", description = "Order created successfully; no body for Prefer: return=minimal"),
             @ApiResponse(responseCode = "409", description = "Conflict: client not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class),
@@ -68,21 +89,49 @@ public class OrderController {
                                     """)))
     })
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public OrderResponse create(@Valid @RequestBody OrderRequest req) {
-        long t0 = System.currentTimeMillis();
-        log.info("POST /api/orders - create: clientId={}", req.getClientId());
+    public ResponseEntity<OrderResponse> create(@Valid @RequestBody OrderRequest req,
+                                                @Parameter(description = "return=minimal to get 201 with Location and no body")
+                                                @RequestHeader(value = PreferHeader.NAME, required = false) String prefer) {
+        log.debug("POST /api/orders - create: clientId={}", req.getClientId());
 
         OrderResponse resp = service.create(req);
 
-        log.info("POST /api/orders - success: orderId={},durationMs={}", resp.getId(), System.currentTimeMillis() - t0);
-        return resp;
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(resp.getId()).toUri();
+        if (PreferHeader.returnMinimal(prefer)) {
+            return ResponseEntity.created(location)
+                    .eTag(ETags.of(resp))
+                    .header(PreferHeader.APPLIED, PreferHeader.RETURN_MINIMAL)
+                    .build();
+        }
+        return ResponseEntity.created(location).eTag(ETags.of(resp)).body(resp);
+    }
+
+    @Operation(summary = "Create orders in bulk",
+            description = "Creates up to 50 000 orders in one request. Clients and products are validated with "
+                    + "set-based queries and rows are written with batched inserts. Invalid orders are rejected "
+                    + "individually and reported per position.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-order results"),
+            @ApiResponse(responseCode = "400", description = "Batch exceeds the size limit",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping("/batch")
+    public OrderBatchResponse createBatch(@RequestBody List<OrderRequest> requests) {
+        log.debug("POST /api/orders/batch - createBatch: size={}", requests.size());
+
+        return service.createBatch(requests);
     }
 
     @Operation(summary = "Update order",
             description = "Updates the order with the given ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order updated"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "204", description = "Order updated, body omitted for Prefer: return=minimal, ETag still set"),
             @ApiResponse(responseCode = "404", description = "Order not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class))),
@@ -91,44 +140,74 @@ public class OrderController {
                             schema = @Schema(implementation = ApiError.class)))
     })
     @PatchMapping("/{id}/status")
-    public OrderResponse updateStatus(@Parameter(description = "Order ID", required = true)
-                                      @PathVariable UUID id,
-                                      @Parameter(description = "New status of the order", required = true,
-                                              schema = @Schema(implementation = OrderStatus.class))
-                                      @RequestParam OrderStatus status) {
-        long t0 = System.currentTimeMillis();
-        log.info("PATCH /api/orders/{id}/status - updateStatus: id={}, newStatus={}", id, status);
-
-        OrderResponse resp = service.updateStatus(id, status);
-
-        log.info("PATCH /api/orders/{id}/status - updateStatus: id={}, status={}, durationMs={}", id, status, System.currentTimeMillis() - t0);
-        return resp;
+    public ResponseEntity<OrderResponse> updateStatus(@Parameter(description = "Order ID", required = true)
+                                                      @PathVariable UUID id,
+                                                      @Parameter(description = "New status of the order", required = true,
+                                                              schema = @Schema(implementation = OrderStatus.class))
+                                                      @RequestParam OrderStatus status,
+                                                      @Parameter(description = "Expected ETag (version); 412 if the order changed")
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @Parameter(description = "return=minimal to get 204 without body")
+                                                      @RequestHeader(value = PreferHeader.NAME, required = false) String prefer) {
+        log.debug("PATCH /api/orders/{id}/status - updateStatus: id={}, newStatus={}", id, status);
+
+        boolean minimal = PreferHeader.returnMinimal(prefer);
+        OrderResponse resp = service.updateStatus(id, status, ETags.parseIfMatch(ifMatch), !minimal);
+        return reply(resp, minimal);
+    }
+
+    @Operation(summary = "Update status of many orders",
+            description = "Moves the orders selected by ids and/or filter to the given status with one set-based "
+                    + "UPDATE. Orders already in the target status are counted as skipped. "
+                    + "A selection matching more than 50000 orders is rejected and nothing is updated.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Counts of updated, skipped and unmatched orders"),
+            @ApiResponse(responseCode = "400", description = "Neither ids nor filter given, or too many orders selected",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @PatchMapping("/status")
+    public OrderBulkStatusResponse updateStatuses(@Valid @RequestBody OrderBulkStatusRequest req) {
+        log.debug("PATCH /api/orders/status - updateStatuses: ids={}, status={}",
+                req.ids() == null ? 0 : req.ids().size(), req.status());
+
+        return service.updateStatuses(req);
     }
 
     @Operation(summary = "Get order by ID",
             description = "Returns a single order by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order found"),
+            @ApiResponse(responseCode = "304", description = "Order unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Order not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class)))
     })
     @GetMapping("/{id}")
-    public OrderResponse getOne(@Parameter(description = "Order ID", required = true)
-                                @PathVariable UUID id) {
-        long t0 = System.currentTimeMillis();
-        log.info("GET /api/orders/{id} - getOne: id={}", id);
+    public ResponseEntity<OrderResponse> getOne(@Parameter(description = "Order ID", required = true)
+                                                @PathVariable UUID id,
+                                                @Parameter(description = "ETag from a previous response")
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                WebRequest request) {
+        log.debug("GET /api/orders/{id} - getOne: id={}", id);
 
-        OrderResponse resp = service.getOne(id);
+        // 304 отвечаем по версии заказа и названиям товаров, без загрузки заказа с позициями
+        if (ifNoneMatch != null && request.checkNotModified(ETags.of(service.versionWithProducts(id)))) {
+            return null;
+        }
 
-        log.info("GET /api/orders/{id} - success: id={}, durationMs={}", id, System.currentTimeMillis() - t0);
-        return resp;
+        // ETag берётся из отданного ответа, а не из отдельного запроса версии
+        OrderResponse resp = service.getOne(id);
+        return ResponseEntity.ok().eTag(ETags.of(resp)).body(resp);
     }
 
     @Operation(summary = "Delete order",
             description = "Deletes the order with the given ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Order deleted"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))),
             @ApiResponse(responseCode = "404", description = "Order not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class))),
@@ -139,32 +218,76 @@ public class OrderController {
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@Parameter(description = "Order ID", required = true)
-                       @PathVariable UUID id) {
-        long t0 = System.currentTimeMillis();
-        log.info("DELETE /api/orders/{id} - delete: id={}", id);
+                       @PathVariable UUID id,
+                       @Parameter(description = "Expected ETag (version); 412 if the order changed")
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("DELETE /api/orders/{id} - delete: id={}", id);
 
-        service.delete(id);
-
-        log.info("DELETE /api/orders/{id}- success: id={}, durationMs={}", id, System.currentTimeMillis() - t0);
+        service.delete(id, ETags.parseIfMatch(ifMatch));
     }
 
     @Operation(summary = "List orders",
-            description = "Returns a paginated list of orders with optional filtering.")
-    @ApiResponse(responseCode = "200", description = "Page of orders")
+            description = "Returns a paginated list of orders with optional filtering. "
+                    + "With count=none the response has no totalElements/totalPages, only whether a next page exists.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of orders"),
+            @ApiResponse(responseCode = "400", description = "Unknown count mode",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
     @GetMapping
-    public Page<OrderResponse> list(@ParameterObject OrderFilter filter,
-                                    @PageableDefault(size = 10,
-                                            sort = "createdAt",
-                                            direction = Sort.Direction.DESC) Pageable pageable) {
-        long t0 = System.currentTimeMillis();
-        log.info("GET /api/orders - list: page={}, size={}, sort={}",
-                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
-
-        Page<OrderResponse> resp = service.findAll(filter, pageable);
-
-        log.info("GET /api/orders - success: page={},returned={}, total={} durationMs={}",
-                resp.getNumber(), resp.getNumberOfElements(), resp.getTotalElements(), System.currentTimeMillis() - t0);
-        return resp;
+    public Slice<OrderResponse> list(@ParameterObject OrderFilter filter,
+                                     @PageableDefault(size = 10,
+                                             sort = "createdAt",
+                                             direction = Sort.Direction.DESC) Pageable pageable,
+                                     @Parameter(description = "Total count: exact (default) runs count(*), estimate uses "
+                                             + "planner statistics, none skips counting and returns only hasNext",
+                                             example = "none")
+                                     @RequestParam(defaultValue = "exact") String count) {
+        CountMode countMode = CountMode.of(count);
+        log.debug("GET /api/orders - list: page={}, size={}, sort={}, count={}",
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), countMode);
+
+        return service.findAll(filter, pageable, countMode);
+    }
+
+    @Operation(summary = "Export orders",
+            description = "Streams all orders matching the filter, newest first, without paging or a total count. "
+                    + "NDJSON writes one order with its items per line; CSV writes one summary row per order.")
+    @ApiResponse(responseCode = "200", description = "Streamed export",
+            content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")})
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@ParameterObject OrderFilter filter,
+                                                        @Parameter(description = "Output format", example = "NDJSON")
+                                                        @RequestParam(defaultValue = "NDJSON") OrderExportFormat format) {
+        log.debug("GET /api/orders/export - export: format={}, filter={}", format, filter);
+
+        StreamingResponseBody body = out -> exportService.export(filter, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders." + format.extension()).build().toString())
+                .body(body);
+    }
+
+    @Operation(summary = "Scroll orders",
+            description = "Returns a keyset-paginated window of orders, newest first. "
+                    + "Pass nextCursor as 'after' to fetch the following window; no total count is computed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Window of orders"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/scroll")
+    public CursorPage<OrderResponse> scroll(@ParameterObject OrderFilter filter,
+                                            @Parameter(description = "Cursor returned by the previous window")
+                                            @RequestParam(required = false) String after,
+                                            @Parameter(description = "Window size, 1-100", example = "20")
+                                            @RequestParam(defaultValue = "20") int size) {
+        log.debug("GET /api/orders/scroll - scroll: after={}, size={}", after, size);
+
+        return service.scroll(filter, after, size);
     }
 
     @Operation(summary = "Get orders by client ID",
@@ -183,10 +306,38 @@ public class OrderController {
         return service.findByClientId(id, pageable);
     }
 
+    @Operation(summary = "Scroll orders of a client",
+            description = "Returns a keyset-paginated window of the client's orders, newest first, with items. "
+                    + "Pass nextCursor as 'after' to fetch the following window; no total count is computed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Window of orders"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "404", description = "Client not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/{id}/orders/scroll")
+    public CursorPage<OrderResponse> scrollClientOrders(@Parameter(description = "Client ID", required = true)
+                                                        @PathVariable UUID id,
+                                                        @Parameter(description = "Cursor returned by the previous window")
+                                                        @RequestParam(required = false) String after,
+                                                        @Parameter(description = "Window size, 1-100", example = "20")
+                                                        @RequestParam(defaultValue = "20") int size) {
+        log.debug("GET /api/orders/{id}/orders/scroll - scrollClientOrders: clientId={}, after={}, size={}", id, after, size);
+
+        return service.scrollByClient(id, after, size);
+    }
+
     @Operation(summary = "Add product to order",
             description = "Adds a product with the given quantity to an existing order.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product added to order"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "204", description = "Product added, body omitted for Prefer: return=minimal, ETag still set"),
             @ApiResponse(responseCode = "404", description = "Order or product not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class))),
@@ -195,23 +346,29 @@ public class OrderController {
                             schema = @Schema(implementation = ApiError.class)))
     })
     @PostMapping("/{orderId}")
-    public OrderResponse addProduct(@Parameter(description = "Order ID", required = true)
-                                    @PathVariable UUID orderId,
-                                    @Valid @RequestBody OrderProductRequest req) {
-        long t0 = System.currentTimeMillis();
-        log.info("POST /api/orders/{orderId} - addProduct: orderId={}, productId={}, quantity={}",
+    public ResponseEntity<OrderResponse> addProduct(@Parameter(description = "Order ID", required = true)
+                                                    @PathVariable UUID orderId,
+                                                    @Valid @RequestBody OrderProductRequest req,
+                                                    @Parameter(description = "Expected ETag (version); 412 if the order changed")
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @Parameter(description = "return=minimal to get 204 without body")
+                                                    @RequestHeader(value = PreferHeader.NAME, required = false) String prefer) {
+        log.debug("POST /api/orders/{orderId} - addProduct: orderId={}, productId={}, quantity={}",
                 orderId, req.getProductId(), req.getQuantity());
 
-        OrderResponse resp = service.addProduct(orderId, req);
-        log.info("POST /api/orders/{orderId} - success: orderId={}, productId={}, quantity={}, durationMs={}",
-                orderId, req.getProductId(), req.getQuantity(), System.currentTimeMillis() - t0);
-        return resp;
+        boolean minimal = PreferHeader.returnMinimal(prefer);
+        OrderResponse resp = service.addProduct(orderId, req, ETags.parseIfMatch(ifMatch), !minimal);
+        return reply(resp, minimal);
     }
 
     @Operation(summary = "Change product quantity",
             description = "Changes the product quantity in an existing order..")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product quantity changed"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "204", description = "Quantity changed, body omitted for Prefer: return=minimal, ETag still set"),
             @ApiResponse(responseCode = "404", description = "Order or product not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class))),
@@ -220,26 +377,32 @@ public class OrderController {
                             schema = @Schema(implementation = ApiError.class)))
     })
     @PatchMapping("/{orderId}/items/{productId}")
-    public OrderResponse changeProductQuantity(@Parameter(description = "Order ID", required = true)
-                                               @PathVariable UUID orderId,
-                                               @Parameter(description = "Product ID", required = true)
-                                               @PathVariable UUID productId,
-                                               @Valid @RequestBody ChangeQuantityRequest req) {
-        long t0 = System.currentTimeMillis();
-        log.info("PATCH /api/orders/{orderId}/items/{productId} - changeProductQuantity: orderId={}, productId={}, quantity={}",
+    public ResponseEntity<OrderResponse> changeProductQuantity(@Parameter(description = "Order ID", required = true)
+                                                               @PathVariable UUID orderId,
+                                                               @Parameter(description = "Product ID", required = true)
+                                                               @PathVariable UUID productId,
+                                                               @Valid @RequestBody ChangeQuantityRequest req,
+                                                               @Parameter(description = "Expected ETag (version); 412 if the order changed")
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                               @Parameter(description = "return=minimal to get 204 without body")
+                                                               @RequestHeader(value = PreferHeader.NAME, required = false) String prefer) {
+        log.debug("PATCH /api/orders/{orderId}/items/{productId} - changeProductQuantity: orderId={}, productId={}, quantity={}",
                 orderId, productId, req.quantity());
 
-        OrderResponse resp = service.changeProductQuantity(orderId, productId, req.quantity());
-
-        log.info("PATCH /api/orders/{orderId}/items/{productId} - success: orderId={}, productId={}, quantity={}, durationMs={}",
-                orderId, productId, req.quantity(), System.currentTimeMillis() - t0);
-        return resp;
+        boolean minimal = PreferHeader.returnMinimal(prefer);
+        OrderResponse resp = service.changeProductQuantity(orderId, productId, req.quantity(),
+                ETags.parseIfMatch(ifMatch), !minimal);
+        return reply(resp, minimal);
     }
 
     @Operation(summary = "Remove product",
             description = " Removes product from the existing order.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Updated order returned"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "204", description = "Product removed, body omitted for Prefer: return=minimal, ETag still set"),
             @ApiResponse(responseCode = "404", description = "Order or product not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class))),
@@ -248,19 +411,31 @@ public class OrderController {
                             schema = @Schema(implementation = ApiError.class)))
     })
     @DeleteMapping("/{orderId}/items/{productId}")
-    public OrderResponse removeProduct(@Parameter(description = "Order ID", required = true)
-                                       @PathVariable UUID orderId,
-                                       @Parameter(description = "Product ID", required = true)
-                                       @PathVariable UUID productId) {
-        long t0 = System.currentTimeMillis();
-        log.info("DELETE /api/orders/{orderId}/items/{productId} - removeProduct: orderId={}, productId={}",
+    public ResponseEntity<OrderResponse> removeProduct(@Parameter(description = "Order ID", required = true)
+                                                       @PathVariable UUID orderId,
+                                                       @Parameter(description = "Product ID", required = true)
+                                                       @PathVariable UUID productId,
+                                                       @Parameter(description = "Expected ETag (version); 412 if the order changed")
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       @Parameter(description = "return=minimal to get 204 without body")
+                                                       @RequestHeader(value = PreferHeader.NAME, required = false) String prefer) {
+        log.debug("DELETE /api/orders/{orderId}/items/{productId} - removeProduct: orderId={}, productId={}",
                 orderId, productId);
 
-        OrderResponse resp = service.removeProduct(orderId, productId);
+        boolean minimal = PreferHeader.returnMinimal(prefer);
+        OrderResponse resp = service.removeProduct(orderId, productId, ETags.parseIfMatch(ifMatch), !minimal);
+        return reply(resp, minimal);
+    }
 
-        log.info("DELETE /api/orders/{orderId}/items/{productId} - success: orderId={}, productId={}, durationMs={}",
-                orderId, productId, System.currentTimeMillis() - t0);
-        return resp;
+    private ResponseEntity<OrderResponse> reply(OrderResponse resp, boolean minimal) {
+        if (minimal) {
+            // ETag и без тела: клиенту не нужен лишний GET перед следующим If-Match
+            return ResponseEntity.noContent()
+                    .eTag(ETags.of(resp))
+                    .header(PreferHeader.APPLIED, PreferHeader.RETURN_MINIMAL)
+                    .build();
+        }
+        return ResponseEntity.ok().eTag(ETags.of(resp)).body(resp);
     }
 
 }
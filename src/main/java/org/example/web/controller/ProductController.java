@@ -12,27 +12,42 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.web.dto.ApiError;
+import org.example.web.dto.CountMode;
+import org.example.web.dto.CursorPage;
 import org.example.web.dto.client.ClientResponse;
 import org.example.web.dto.product.ProductFilter;
+import org.example.web.dto.product.ProductImportFormat;
+import org.example.web.dto.product.ProductImportResponse;
 import org.example.web.dto.product.ProductRequest;
 import org.example.web.dto.product.ProductResponse;
+import org.example.web.dto.product.ProductSuggestion;
+import org.example.web.service.ProductImportService;
 import org.example.web.service.ProductService;
+import org.example.web.util.ETags;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -43,6 +58,7 @@ import java.util.UUID;
 public class ProductController {
 
     private final ProductService service;
+    private final ProductImportService importService;
 
     @Operation(summary = "Create a new product",
             description = "Creates a product with the given data and returns the created product.")
@@ -66,39 +82,97 @@ public class ProductController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ProductResponse create(@Valid @RequestBody ProductRequest req) {
-        long t0 = System.currentTimeMillis();
-        log.info("POST /api/products - create: name={}", req.getName());
+        log.debug("POST /api/products - create: name={}", req.getName());
 
-        ProductResponse resp = service.create(req);
+        return service.create(req);
+    }
 
-        log.info("POST /api/products - success: id={}, durationMs={}", resp.getId(), System.currentTimeMillis() - t0);
-        return resp;
+    @Operation(summary = "Import products",
+            description = "Bulk upserts the catalog from a CSV (header name,description,price) or NDJSON body. "
+                    + "Products are matched by case-insensitive name: new names are inserted, changed ones updated. "
+                    + "Invalid rows are counted as rejected instead of failing the import. When a name repeats, "
+                    + "the last valid row wins and the earlier ones are counted as superseded.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import applied"),
+            @ApiResponse(responseCode = "400", description = "File rejected by the database: wrong column count, broken quoting",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ProductImportResponse importCatalog(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                               InputStream body) {
+        ProductImportFormat format = ProductImportFormat.of(contentType);
+        log.debug("POST /api/products/import - import: format={}", format);
+
+        return importService.importCatalog(format, body);
+    }
+
+    @Operation(summary = "Autocomplete product names",
+            description = "Returns products whose name starts with the prefix (case-insensitive), alphabetically. "
+                    + "Served from an in-memory index, so it is cheap enough to call on every keystroke.")
+    @ApiResponse(responseCode = "200", description = "Matching products, at most limit (1-50)")
+    @GetMapping("/autocomplete")
+    public List<ProductSuggestion> autocomplete(@Parameter(description = "Beginning of the product name", example = "bo")
+                                                @RequestParam String prefix,
+                                                @Parameter(description = "Maximum number of suggestions, 1-50", example = "10")
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return service.autocomplete(prefix, limit);
+    }
+
+    @Operation(summary = "Search products",
+            description = "Full-text search over name and description, most relevant first; name matches outrank "
+                    + "description matches. Every word of q is matched as a prefix and all of them must match. "
+                    + "Pass nextCursor as 'after' to fetch the following window.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Window of matching products"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/search")
+    public CursorPage<ProductResponse> search(@Parameter(description = "Search words", example = "science novel")
+                                              @RequestParam String q,
+                                              @Parameter(description = "Cursor returned by the previous window")
+                                              @RequestParam(required = false) String after,
+                                              @Parameter(description = "Window size, 1-100", example = "20")
+                                              @RequestParam(defaultValue = "20") int size) {
+        log.debug("GET /api/products/search - search: q={}, after={}, size={}", q, after, size);
+
+        return service.search(q, after, size);
     }
 
     @Operation(summary = "Get product by ID",
             description = "Returns a single product by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product found"),
+            @ApiResponse(responseCode = "304", description = "Product unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class)))
     })
     @GetMapping("/{id}")
-    public ProductResponse getOne(@Parameter(description = "Product ID", required = true)
-                                  @PathVariable UUID id) {
-        long t0 = System.currentTimeMillis();
-        log.info("GET /api/products/{id} - getOne: id={}", id);
+    public ResponseEntity<ProductResponse> getOne(@Parameter(description = "Product ID", required = true)
+                                                  @PathVariable UUID id,
+                                                  @Parameter(description = "ETag from a previous response")
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                  WebRequest request) {
+        log.debug("GET /api/products/{id} - getOne: id={}", id);
 
-        ProductResponse resp = service.getOne(id);
+        if (ifNoneMatch != null && request.checkNotModified(ETags.of(service.version(id)))) {
+            return null;
+        }
 
-        log.info("GET /api/products/{id} - success: id={}, durationMs={}", resp.getId(), System.currentTimeMillis() - t0);
-        return resp;
+        ProductResponse resp = service.getOne(id);
+        return ResponseEntity.ok().eTag(ETags.of(resp.getVersion())).body(resp);
     }
 
     @Operation(summary = "Update product",
             description = "Updates the product with the given ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product updated"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class))),
@@ -107,23 +181,24 @@ public class ProductController {
                             schema = @Schema(implementation = ApiError.class)))
     })
     @PutMapping("/{id}")
-    public ProductResponse update(@Parameter(description = "Product ID", required = true)
-                                      @PathVariable UUID id,
-                                  @Valid @RequestBody ProductRequest req) {
-        long t0 = System.currentTimeMillis();
-        log.info("PUT /api/products/{id} - update: id={}", id);
-
-        ProductResponse resp = service.update(id, req);
-
-        log.info("PUT /api/products/{id} - success: id={}, durationMs={}",
-                resp.getId(), System.currentTimeMillis() - t0);
-        return resp;
+    public ResponseEntity<ProductResponse> update(@Parameter(description = "Product ID", required = true)
+                                                  @PathVariable UUID id,
+                                                  @Valid @RequestBody ProductRequest req,
+                                                  @Parameter(description = "Expected ETag (version); 412 if the product changed")
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("PUT /api/products/{id} - update: id={}", id);
+
+        ProductResponse resp = service.update(id, req, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(resp.getVersion())).body(resp);
     }
 
     @Operation(summary = "Delete product",
             description = "Deletes the product with the given ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Product deleted"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class))),
@@ -134,32 +209,33 @@ public class ProductController {
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@Parameter(description = "Product ID", required = true)
-                           @PathVariable UUID id) {
-        long t0 = System.currentTimeMillis();
-        log.info("DELETE /api/products/{id} - delete: id={}", id);
+                           @PathVariable UUID id,
+                       @Parameter(description = "Expected ETag (version); 412 if the product changed")
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("DELETE /api/products/{id} - delete: id={}", id);
 
-        service.delete(id);
-
-        log.info("DELETE /api/products/{id} - success: id={}, durationMs={}", id, System.currentTimeMillis() - t0);
+        service.delete(id, ETags.parseIfMatch(ifMatch));
     }
 
     @Operation(summary = "List products",
-            description = "Returns a paginated list of products with optional filtering.")
+            description = "Returns a paginated list of products with optional filtering. "
+                    + "The name filter matches a substring of at least 3 characters; sort=relevance orders by similarity to it. "
+                    + "With count=none the response has no totalElements/totalPages, only whether a next page exists.")
     @ApiResponse(responseCode = "200", description = "Page of products")
     @GetMapping
-    public Page<ProductResponse> list( @ParameterObject ProductFilter filter,
-                                       @ParameterObject @PageableDefault(size = 10,
+    public Slice<ProductResponse> list( @ParameterObject ProductFilter filter,
+                                        @ParameterObject @PageableDefault(size = 10,
                                               sort = {"name", "price"},
-                                              direction = Sort.Direction.ASC) Pageable pageable) {
-        long t0 = System.currentTimeMillis();
-        log.info("GET /api/products - list: page={}, size={}, sort={}",
-                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
-
-        Page<ProductResponse> resp = service.list(filter, pageable);
-
-        log.info("GET /api/products - success:  page={}, returned={}, total={}, durationMs={}",
-                resp.getNumber(), resp.getNumberOfElements(), resp.getTotalElements(), System.currentTimeMillis() - t0);
-        return resp;
+                                              direction = Sort.Direction.ASC) Pageable pageable,
+                                        @Parameter(description = "Total count: exact (default) runs count(*), estimate uses "
+                                                + "planner statistics, none skips counting and returns only hasNext",
+                                                example = "none")
+                                        @RequestParam(defaultValue = "exact") String count) {
+        CountMode countMode = CountMode.of(count);
+        log.debug("GET /api/products - list: page={}, size={}, sort={}, count={}",
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), countMode);
+
+        return service.list(filter, pageable, countMode);
     }
 
 
@@ -0,0 +1,26 @@
+package org.example.web.dto;
+
+import org.example.web.exception.InvalidCountModeException;
+
+import java.util.Locale;
+
+/**
+ * Как считать total для списочных эндпоинтов (?count=).
+ * NONE - без подсчёта, только hasNext; ESTIMATE - оценка планировщика; EXACT - count(*).
+ */
+public enum CountMode {
+    NONE,
+    ESTIMATE,
+    EXACT;
+
+    public static CountMode of(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCountModeException(value);
+        }
+    }
+}
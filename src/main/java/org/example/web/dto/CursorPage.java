@@ -0,0 +1,18 @@
+package org.example.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Keyset-paginated window of results")
+public record CursorPage<T>(
+        @Schema(description = "Items of the current window")
+        List<T> content,
+        @Schema(description = "Requested window size", example = "20")
+        int size,
+        @Schema(description = "Whether more items follow this window", example = "true")
+        boolean hasNext,
+        @Schema(description = "Opaque cursor of the next window, pass it as 'after'",
+                example = "MjAyNS0wOS0xMVQxNDozMDowMHwxMjNlNDU2Ny1lODliLTEyZDMtYTQ1Ni00MjY2MTQxNzQwMDA")
+        String nextCursor
+) {}
@@ -0,0 +1,22 @@
+package org.example.web.dto.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Purchases of one client on one day")
+public record ClientDailySales(
+        @Schema(description = "Order creation date", example = "2025-09-10")
+        LocalDate day,
+
+        @Schema(description = "Orders placed", example = "3")
+        long orders,
+
+        @Schema(description = "Units bought", example = "7")
+        long units,
+
+        @Schema(description = "Amount spent at order-time unit prices", example = "139.93")
+        BigDecimal revenue
+) {
+}
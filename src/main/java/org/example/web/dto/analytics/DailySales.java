@@ -0,0 +1,19 @@
+package org.example.web.dto.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Sales of one product on one day")
+public record DailySales(
+        @Schema(description = "Order creation date", example = "2025-09-10")
+        LocalDate day,
+
+        @Schema(description = "Units sold", example = "42")
+        long units,
+
+        @Schema(description = "Revenue at order-time unit prices", example = "839.58")
+        BigDecimal revenue
+) {
+}
@@ -0,0 +1,22 @@
+package org.example.web.dto.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Schema(description = "Sales of one product over a date range")
+public record ProductSales(
+        @Schema(description = "Product ID", example = "c1f9b4e6-7c2d-4f89-b05d-7f3a8b9c1a2f")
+        UUID productId,
+
+        @Schema(description = "Current product name, null if the product was deleted", example = "Book")
+        String name,
+
+        @Schema(description = "Units sold", example = "420")
+        long units,
+
+        @Schema(description = "Revenue at order-time unit prices", example = "8395.80")
+        BigDecimal revenue
+) {
+}
@@ -0,0 +1,18 @@
+package org.example.web.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Summary of a batch order ingestion")
+public record OrderBatchResponse(
+        @Schema(description = "Number of created orders", example = "998")
+        int created,
+
+        @Schema(description = "Number of rejected orders", example = "2")
+        int rejected,
+
+        @Schema(description = "Per-order results in request order")
+        List<OrderBatchResult> results
+) {
+}
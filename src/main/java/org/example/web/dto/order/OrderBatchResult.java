@@ -0,0 +1,32 @@
+package org.example.web.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "Outcome of a single order of a batch")
+public record OrderBatchResult(
+        @Schema(description = "Position of the order in the request array", example = "0")
+        int index,
+
+        @Schema(description = "Outcome of the order", example = "CREATED")
+        Status status,
+
+        @Schema(description = "UUID of the created order", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID orderId,
+
+        @Schema(description = "Reason the order was rejected", example = "Product with id 321e4567-e89b-12d3-a456-426614174000 not found")
+        String error
+) {
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    public static OrderBatchResult created(int index, UUID orderId) {
+        return new OrderBatchResult(index, Status.CREATED, orderId, null);
+    }
+
+    public static OrderBatchResult rejected(int index, String error) {
+        return new OrderBatchResult(index, Status.REJECTED, null, error);
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.web.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import org.example.web.model.OrderStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Target status for a set of orders selected by ids, by filter, or by both")
+public record OrderBulkStatusRequest(
+        @Schema(description = "Order ids to update", example = "[\"123e4567-e89b-12d3-a456-426614174000\"]")
+        List<UUID> ids,
+
+        @Schema(description = "Filter the orders must match; filter.status restricts the current status")
+        OrderFilter filter,
+
+        @NotNull
+        @Schema(description = "New status", example = "COMPLETED", implementation = OrderStatus.class)
+        OrderStatus status
+) {
+
+    /**
+     * пустой запрос обновил бы все заказы - требуем ids или хотя бы одно условие фильтра
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "ids or a non-empty filter is required")
+    public boolean isSelective() {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        boolean hasFilter = filter != null && ((filter.status() != null && !filter.status().isBlank())
+                || filter.from() != null || filter.to() != null || filter.productId() != null);
+        return hasIds || hasFilter;
+    }
+}
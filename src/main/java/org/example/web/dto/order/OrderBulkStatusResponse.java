@@ -0,0 +1,16 @@
+package org.example.web.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a bulk status transition")
+public record OrderBulkStatusResponse(
+        @Schema(description = "Orders moved to the target status", example = "1200")
+        long updated,
+
+        @Schema(description = "Matched orders already in the target status", example = "15")
+        long skipped,
+
+        @Schema(description = "Requested ids that do not exist or do not match the filter", example = "3")
+        long unmatched
+) {
+}
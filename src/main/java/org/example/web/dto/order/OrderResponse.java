@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import org.example.web.dto.orderProduct.OrderProductResponse;
 import org.example.web.model.OrderStatus;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,4 +38,10 @@ public class OrderResponse {
 
     @Schema(description = "Total number of items in the order", example = "3")
     private Integer itemsTotal;
+
+    @Schema(description = "Total amount of the order", example = "59.97")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "Optimistic version, the first part of the ETag", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
 }
@@ -0,0 +1,10 @@
+package org.example.web.dto.order;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Версия заказа и названия товаров его позиций - всё, из чего строится ETag заказа.
+ */
+public record OrderVersion(long version, Map<UUID, String> productNames) {
+}
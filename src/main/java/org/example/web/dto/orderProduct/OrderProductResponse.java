@@ -23,6 +23,6 @@ public class OrderProductResponse {
     @Schema(description = "Quantity of this product in the order", example = "2")
     int quantity;
 
-    @Schema(description = "Price per unit of the product", example = "19.99")
+    @Schema(description = "Unit price fixed when the product was added to the order", example = "19.99")
     BigDecimal price;
 }
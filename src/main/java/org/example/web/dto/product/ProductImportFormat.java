@@ -0,0 +1,29 @@
+package org.example.web.dto.product;
+
+import org.springframework.http.MediaType;
+
+public enum ProductImportFormat {
+    /** Первая строка - заголовок name,description,price, она пропускается. */
+    CSV("text/csv"),
+    /** Один объект {"name":..,"description":..,"price":..} на строку. */
+    NDJSON("application/x-ndjson");
+
+    private final MediaType mediaType;
+
+    ProductImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public String contentType() {
+        return mediaType.toString();
+    }
+
+    public static ProductImportFormat of(MediaType contentType) {
+        for (ProductImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.web.dto.product;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a catalog import")
+public record ProductImportResponse(
+        @Schema(description = "New products", example = "1200")
+        long inserted,
+
+        @Schema(description = "Existing products (matched by case-insensitive name) whose description or price changed",
+                example = "300")
+        long updated,
+
+        @Schema(description = "Existing products identical to the imported row", example = "198000")
+        long unchanged,
+
+        @Schema(description = "Valid rows superseded by a later row with the same case-insensitive name", example = "2")
+        long superseded,
+
+        @Schema(description = "Rows with a blank name or description, an invalid price or unparsable JSON", example = "5")
+        long rejected
+) {
+}
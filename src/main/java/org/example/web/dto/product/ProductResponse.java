@@ -27,4 +27,7 @@ public class ProductResponse {
     @Schema(description = "Price per unit of the product", example = "19.99")
     private BigDecimal price;
 
+    @Schema(description = "Optimistic version, also sent as ETag", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
 }
@@ -0,0 +1,12 @@
+package org.example.web.dto.product;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+public record ProductSuggestion(
+        @Schema(description = "Product UUID", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID id,
+        @Schema(description = "Product name", example = "Book")
+        String name) {
+}
@@ -0,0 +1,7 @@
+package org.example.web.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(int size, int max) {
+        super("Batch of " + size + " items exceeds the limit of " + max);
+    }
+}
@@ -7,6 +7,7 @@ import org.example.web.dto.ApiError;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -63,6 +64,53 @@ public class GlobalExceptionHandler {
         return respond(HttpStatus.NOT_FOUND, "NOT_FOUND", ex.getMessage(), req, ex);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursor(InvalidCursorException ex, HttpServletRequest req) {
+        return respond(HttpStatus.BAD_REQUEST, "INVALID_CURSOR", ex.getMessage(), req, ex);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ApiError> handleBatchTooLarge(BatchTooLargeException ex, HttpServletRequest req) {
+        return respond(HttpStatus.BAD_REQUEST, "BATCH_TOO_LARGE", ex.getMessage(), req, ex);
+    }
+
+    @ExceptionHandler(SearchTermTooShortException.class)
+    public ResponseEntity<ApiError> handleSearchTermTooShort(SearchTermTooShortException ex, HttpServletRequest req) {
+        return respond(HttpStatus.BAD_REQUEST, "SEARCH_TERM_TOO_SHORT", ex.getMessage(), req, ex);
+    }
+
+    @ExceptionHandler(InvalidRangeException.class)
+    public ResponseEntity<ApiError> handleInvalidRange(InvalidRangeException ex, HttpServletRequest req) {
+        return respond(HttpStatus.BAD_REQUEST, "INVALID_RANGE", ex.getMessage(), req, ex);
+    }
+
+    @ExceptionHandler(InvalidCountModeException.class)
+    public ResponseEntity<ApiError> handleInvalidCountMode(InvalidCountModeException ex, HttpServletRequest req) {
+        return respond(HttpStatus.BAD_REQUEST, "INVALID_COUNT_MODE", ex.getMessage(), req, ex);
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ApiError> handleInvalidImport(InvalidImportException ex, HttpServletRequest req) {
+        return respond(HttpStatus.BAD_REQUEST, "INVALID_IMPORT", ex.getMessage(), req, ex);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(PreconditionFailedException ex, HttpServletRequest req) {
+        return respond(HttpStatus.PRECONDITION_FAILED, "PRECONDITION_FAILED", ex.getMessage(), req, ex);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLock(ObjectOptimisticLockingFailureException ex,
+                                                         HttpServletRequest req) {
+        String msg = "Resource was modified concurrently, reload and retry";
+        return respond(HttpStatus.CONFLICT, "CONCURRENT_MODIFICATION", msg, req, ex);
+    }
+
+    @ExceptionHandler(UnsupportedSortException.class)
+    public ResponseEntity<ApiError> handleUnsupportedSort(UnsupportedSortException ex, HttpServletRequest req) {
+        return respond(HttpStatus.BAD_REQUEST, "INVALID_SORT", ex.getMessage(), req, ex);
+    }
+
     @ExceptionHandler(org.springframework.web.bind.MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(org.springframework.web.bind.MethodArgumentNotValidException ex,
                                                      HttpServletRequest req) {
@@ -0,0 +1,7 @@
+package org.example.web.exception;
+
+public class InvalidCountModeException extends RuntimeException {
+    public InvalidCountModeException(String value) {
+        super("Unsupported count mode '" + value + "', expected one of: none, estimate, exact");
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.web.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message, Throwable cause) {
+        super("Invalid import file: " + message, cause);
+    }
+}
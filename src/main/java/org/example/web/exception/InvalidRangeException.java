@@ -0,0 +1,10 @@
+package org.example.web.exception;
+
+import java.time.LocalDate;
+
+public class InvalidRangeException extends RuntimeException {
+    public InvalidRangeException(LocalDate from, LocalDate to, int maxDays) {
+        super("Invalid date range " + from + ".." + to + ": 'from' must not be after 'to' and the range must not exceed "
+                + maxDays + " days");
+    }
+}
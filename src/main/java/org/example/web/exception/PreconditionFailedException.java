@@ -0,0 +1,11 @@
+package org.example.web.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String entity, Object id, Long expected, Long actual) {
+        super(entity + " with id " + id + " has version " + actual + ", expected " + expected);
+    }
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
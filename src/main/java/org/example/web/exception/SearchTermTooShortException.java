@@ -0,0 +1,7 @@
+package org.example.web.exception;
+
+public class SearchTermTooShortException extends RuntimeException {
+    public SearchTermTooShortException(String field, String term, int min) {
+        super("Search term '" + term + "' for '" + field + "' is too short, at least " + min + " characters required");
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.web.exception;
+
+public class UnsupportedSortException extends RuntimeException {
+    public UnsupportedSortException(String property) {
+        super("Sorting by '" + property + "' is not supported");
+    }
+}
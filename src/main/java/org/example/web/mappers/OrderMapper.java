@@ -15,13 +15,11 @@ import org.springframework.context.annotation.Primary;
 public interface OrderMapper {
 
     @Mapping(source = "client.id", target = "clientId")
-    @Mapping(target = "itemsTotal",
-            expression = "java(entity.getItems() == null ? 0 : entity.getItems().stream().mapToInt(i -> i.getQuantity()).sum())")
     OrderResponse toResponse (Order entity);
 
     @Mapping(target = "productId", source = "product.id")
     @Mapping(target = "name",      source = "product.name")
-    @Mapping(target = "price",     source = "product.price")
+    @Mapping(target = "price",     source = "unitPrice")
     OrderProductResponse toProductResponse (OrderProduct product);
 
 }
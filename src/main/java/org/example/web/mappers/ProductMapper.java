@@ -17,9 +17,11 @@ import static org.mapstruct.NullValuePropertyMappingStrategy.IGNORE;
 @Mapper(componentModel = "spring")
 public interface ProductMapper {
 
+    @Mapping(target = "version", ignore = true)
     Product toEntity (ProductRequest req);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = IGNORE)
     void updateEntity (ProductRequest req, @MappingTarget Product entity);
 
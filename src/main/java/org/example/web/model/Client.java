@@ -1,9 +1,9 @@
 package org.example.web.model;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -31,7 +31,7 @@ import java.util.UUID;
 public class Client {
 
     @Id
-    @GeneratedValue
+    @UuidV7Id
     private UUID id;
 
     private String firstName;
@@ -42,6 +42,14 @@ public class Client {
 
     private String phone;
 
+    /**
+     * Меняется только атомарным UPDATE в {@code ClientRepository.adjustOrdersCount},
+     * поэтому сущность его не перезаписывает.
+     */
+    @Column(name = "orders_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Long ordersCount = 0L;
+
     @OneToMany(mappedBy = "client")
     @BatchSize(size = 50)
     @Builder.Default
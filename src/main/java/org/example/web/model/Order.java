@@ -1,16 +1,17 @@
 package org.example.web.model;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -18,8 +19,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.Formula;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -36,7 +37,7 @@ import java.util.UUID;
 public class Order {
 
     @Id
-    @GeneratedValue
+    @UuidV7Id
     private UUID id;
 
     @CreationTimestamp
@@ -57,9 +58,19 @@ public class Order {
     @Builder.Default
     private Set<OrderProduct> items = new HashSet<>();
 
-    @Formula("(select coalesce(sum(op.quantity),0) " +
-            " from order_products op " +
-            " where op.order_id = id)")
-    private Integer itemsTotal;
+    @Column(name = "items_total", nullable = false)
+    @Builder.Default
+    private Integer itemsTotal = 0;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    /**
+     * растёт при каждом изменении заказа, включая позиции (они меняют итоги); служит ETag
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
 }
\ No newline at end of file
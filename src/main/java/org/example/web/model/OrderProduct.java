@@ -4,11 +4,11 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -20,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.BatchSize;
 
+import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -33,11 +34,13 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "order_products",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"order_id", "product_id"}))
+        uniqueConstraints = @UniqueConstraint(name = OrderProduct.UK_ORDER_PRODUCT, columnNames = {"order_id", "product_id"}))
 public class OrderProduct {
 
+    public static final String UK_ORDER_PRODUCT = "uk_order_products_order_product";
+
     @Id
-    @GeneratedValue
+    @UuidV7Id
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -51,4 +54,17 @@ public class OrderProduct {
     @Column(nullable = false)
     private Integer quantity;
 
+    /**
+     * цена товара на момент добавления позиции, по ней считается total_amount заказа
+     */
+    @Column(name = "unit_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal unitPrice;
+
+    @PrePersist
+    void fillUnitPrice() {
+        if (unitPrice == null && product != null) {
+            unitPrice = product.getPrice();
+        }
+    }
+
 }
@@ -20,4 +20,11 @@ public enum OrderStatus {
     OrderStatus(String description) {
         this.description = description;
     }
+
+    /**
+     * Учитывается ли заказ в этом статусе в продажах (витрина sales_daily_*).
+     */
+    public boolean isSale() {
+        return this != CANCELED;
+    }
 }
@@ -2,9 +2,9 @@ package org.example.web.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -24,7 +24,7 @@ import java.util.UUID;
 public class Product {
 
     @Id
-    @GeneratedValue
+    @UuidV7Id
     private UUID id;
 
     @Column(nullable = false, unique = true)
@@ -34,5 +34,9 @@ public class Product {
     @Column(nullable = false)
     private BigDecimal price;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
 
 }
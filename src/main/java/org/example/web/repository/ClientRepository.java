@@ -2,34 +2,36 @@ package org.example.web.repository;
 
 import org.example.web.model.Client;
 import org.springframework.data.jpa.repository.EntityGraph;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
-public interface ClientRepository extends JpaRepository<Client, UUID>, JpaSpecificationExecutor<Client> {
+public interface ClientRepository extends SliceRepository<Client, UUID> {
     boolean existsByEmailIgnoreCase(String email);
 
-    interface ClientOrderCount {
-        UUID getClientId();
-        long getCnt();
-    }
+    /**
+     * Прибавляет (sign = 1) или вычитает (sign = -1) к orders_count клиентов число переданных заказов.
+     * Заказы читаются из базы, поэтому при удалении вызывать до DELETE.
+     */
+    @Modifying
+    @Query(value = """
+      update clients c
+      set orders_count = c.orders_count + :sign * t.cnt
+      from (select client_id, count(*) as cnt
+            from orders
+            where id in (:orderIds)
+            group by client_id) t
+      where c.id = t.client_id
+    """, nativeQuery = true)
+    int adjustOrdersCount(@Param("orderIds") Collection<UUID> orderIds, @Param("sign") int sign);
 
-    @Query("""
-      select o.client.id as clientId, count(o.id) as cnt
-      from Order o
-      where o.client.id in :ids
-      group by o.client.id
-    """)
-    List<ClientOrderCount> countOrdersByClientIds(Collection<UUID> ids);
-
-    @Query("select count(o.id) from Order o where o.client.id = :clientId")
-    long countOrdersByClientId(@Param("clientId") UUID clientId);
+    @Query("select c.id from Client c where c.id in :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 
     @EntityGraph(attributePaths = {"orders", "orders.items", "orders.items.product"})
     Optional<Client> findDetailedById(UUID id);
@@ -0,0 +1,100 @@
+package org.example.web.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.web.dto.order.OrderFilter;
+import org.example.web.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Массовые изменения заказов одним SQL-выражением, минуя загрузку сущностей.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBulkRepository {
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * @param updated обновлённые заказы и их статус до обновления
+     */
+    public record StatusUpdate(long matched, Map<UUID, OrderStatus> updated) {
+    }
+
+    /**
+     * Переводит выбранные заказы в {@code status} одним UPDATE. Заказы, уже находящиеся в этом статусе,
+     * считаются совпавшими, но не обновляются. Версия растёт, чтобы ETag клиентов устарел.
+     * Если совпало больше {@code maxMatched}, ничего не обновляется и возвращается только число совпавших.
+     * Выбранные строки блокируются (в порядке id), поэтому прежний статус и число совпавших берутся
+     * из строки, которую UPDATE действительно перезаписывает, а не из снимка на начало запроса.
+     *
+     * @param ids    null - без ограничения по id
+     * @param filter условия по заказу, status фильтра ограничивает текущий статус
+     */
+    public StatusUpdate updateStatus(Collection<UUID> ids, OrderFilter filter, OrderStatus status, int maxMatched) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder where = new StringBuilder();
+        if (ids != null) {
+            where.append("o.id = ANY(?) AND ");
+            params.add(ids);
+        }
+        where.append(OrderSqlFilter.where(filter, params));
+
+        String sql = """
+                WITH target AS (
+                    SELECT o.id, o.status FROM orders o WHERE %s
+                    ORDER BY o.id
+                    FOR UPDATE
+                ), total AS (
+                    SELECT count(*) AS matched FROM target
+                ), upd AS (
+                    UPDATE orders o
+                    SET status = ?, version = o.version + 1
+                    FROM target t
+                    WHERE o.id = t.id AND o.status IS DISTINCT FROM ?
+                      AND (SELECT matched FROM total) <= ?
+                    RETURNING o.id, t.status AS previous
+                )
+                SELECT (SELECT matched FROM total) AS matched, u.updated_ids, u.previous_statuses
+                FROM (SELECT array_agg(id) AS updated_ids, array_agg(previous) AS previous_statuses FROM upd) u
+                """.formatted(where);
+        params.add(status.name());
+        params.add(status.name());
+        params.add(maxMatched);
+
+        return jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            for (int i = 0; i < params.size(); i++) {
+                Object p = params.get(i);
+                if (p instanceof Collection<?> c) {
+                    ps.setArray(i + 1, con.createArrayOf("uuid", c.toArray()));
+                } else {
+                    ps.setObject(i + 1, p);
+                }
+            }
+            return ps;
+        }, rs -> {
+            rs.next();
+            Map<UUID, OrderStatus> updated = new LinkedHashMap<>();
+            Array ids = rs.getArray("updated_ids");
+            if (ids != null) {
+                UUID[] updatedIds = (UUID[]) ids.getArray();
+                String[] previous = (String[]) rs.getArray("previous_statuses").getArray();
+                for (int i = 0; i < updatedIds.length; i++) {
+                    // статус в строке мог быть записан в обход приложения
+                    updated.put(updatedIds[i], previous[i] == null ? null : OrderStatus.valueOf(previous[i]));
+                }
+            }
+            return new StatusUpdate(rs.getLong("matched"), updated);
+        });
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.web.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.web.dto.order.OrderFilter;
+import org.example.web.dto.order.OrderResponse;
+import org.example.web.dto.orderProduct.OrderProductResponse;
+import org.example.web.exception.UnsupportedSortException;
+import org.example.web.model.OrderStatus;
+import org.example.web.util.Slices;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Read-only доступ к заказам без сущностей JPA: ответ собирается прямо из плоских строк SQL.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderReadRepository {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "status", "status",
+            "clientId", "client_id",
+            "id", "id"
+    );
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final RowEstimateRepository rowEstimates;
+
+    /**
+     * Страница заказов с позициями и общим количеством за один запрос:
+     * total считается оконной функцией до LIMIT/OFFSET.
+     */
+    public Page<OrderResponse> findPage(OrderFilter filter, Pageable pageable) {
+        long[] total = {0};
+        List<OrderResponse> content = findWindow(filter, pageable, pageable.getPageSize(), total);
+
+        if (content.isEmpty() && pageable.getOffset() > 0) {
+            // страница за пределами выборки: окно пустое, total узнаём отдельным count
+            total[0] = count(filter);
+        }
+        return new PageImpl<>(content, pageable, total[0]);
+    }
+
+    /**
+     * Страница заказов с позициями без подсчёта total: окно читается на одну строку больше ради hasNext.
+     */
+    public Slice<OrderResponse> findSlice(OrderFilter filter, Pageable pageable) {
+        return Slices.window(findWindow(filter, pageable, pageable.getPageSize() + 1, null), pageable);
+    }
+
+    /**
+     * Оценка числа заказов по фильтру из статистики планировщика.
+     */
+    public long estimateCount(OrderFilter filter) {
+        List<Object> params = new ArrayList<>();
+        return rowEstimates.estimate("orders o", OrderSqlFilter.where(filter, params), params);
+    }
+
+    /**
+     * @param total если не null, в total[0] кладётся размер всей выборки (count(*) OVER () до LIMIT)
+     */
+    private List<OrderResponse> findWindow(OrderFilter filter, Pageable pageable, int limit, long[] total) {
+        List<Object> params = new ArrayList<>();
+        String where = OrderSqlFilter.where(filter, params);
+        String innerOrder = orderBy(pageable.getSort(), "o");
+        String outerOrder = orderBy(pageable.getSort(), "p");
+        String totalColumn = total == null ? "0" : "count(*) OVER ()";
+
+        String sql = """
+                WITH p AS (
+                    SELECT o.id, o.created_at, o.status, o.client_id, o.items_total, o.total_amount, o.version,
+                           %s AS total
+                    FROM orders o
+                    WHERE %s
+                    ORDER BY %s
+                    LIMIT ? OFFSET ?
+                )
+                SELECT p.id, p.created_at, p.status, p.client_id, p.items_total, p.total_amount, p.version, p.total,
+                       op.product_id, pr.name, op.quantity, op.unit_price
+                FROM p
+                LEFT JOIN order_products op ON op.order_id = p.id
+                LEFT JOIN products pr ON pr.id = op.product_id
+                ORDER BY %s, op.id
+                """.formatted(totalColumn, where, innerOrder, outerOrder);
+        params.add(limit);
+        params.add(pageable.getOffset());
+
+        Map<UUID, OrderResponse> orders = new LinkedHashMap<>();
+        jdbc.query(sql, rs -> {
+            if (total != null) {
+                total[0] = rs.getLong("total");
+            }
+            OrderResponse order = orders.computeIfAbsent(rs.getObject("id", UUID.class), id -> newOrder(id, rs));
+            addItem(order, rs);
+        }, params.toArray());
+        return new ArrayList<>(orders.values());
+    }
+
+    /**
+     * Потоковое чтение всех заказов по фильтру (createdAt DESC, id DESC) через серверный курсор:
+     * pgjdbc читает по {@code STREAM_FETCH_SIZE} строк, если запрос идёт внутри транзакции.
+     * Заказ отдаётся в {@code sink}, как только прочитаны все его позиции, в памяти держится только текущий.
+     */
+    public void stream(OrderFilter filter, boolean withItems, Consumer<OrderResponse> sink) {
+        List<Object> params = new ArrayList<>();
+        String where = OrderSqlFilter.where(filter, params);
+        String sql = withItems ? """
+                SELECT o.id, o.created_at, o.status, o.client_id, o.items_total, o.total_amount, o.version,
+                       op.product_id, pr.name, op.quantity, op.unit_price
+                FROM orders o
+                LEFT JOIN order_products op ON op.order_id = o.id
+                LEFT JOIN products pr ON pr.id = op.product_id
+                WHERE %s
+                ORDER BY o.created_at DESC, o.id DESC, op.id
+                """.formatted(where) : """
+                SELECT o.id, o.created_at, o.status, o.client_id, o.items_total, o.total_amount, o.version
+                FROM orders o
+                WHERE %s
+                ORDER BY o.created_at DESC, o.id DESC
+                """.formatted(where);
+
+        OrderResponse[] current = {null};
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            if (current[0] == null || !current[0].getId().equals(id)) {
+                if (current[0] != null) {
+                    sink.accept(current[0]);
+                }
+                current[0] = newOrder(id, rs);
+            }
+            if (withItems) {
+                addItem(current[0], rs);
+            }
+        });
+        if (current[0] != null) {
+            sink.accept(current[0]);
+        }
+    }
+
+    public long count(OrderFilter filter) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT count(*) FROM orders o WHERE " + OrderSqlFilter.where(filter, params);
+        Long cnt = jdbc.queryForObject(sql, Long.class, params.toArray());
+        return cnt == null ? 0 : cnt;
+    }
+
+    private static OrderResponse newOrder(UUID id, ResultSet rs) {
+        try {
+            String status = rs.getString("status");
+            return OrderResponse.builder()
+                    .id(id)
+                    .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                    .status(status == null ? null : OrderStatus.valueOf(status))
+                    .clientId(rs.getObject("client_id", UUID.class))
+                    .items(new ArrayList<>())
+                    .itemsTotal(rs.getInt("items_total"))
+                    .totalAmount(rs.getBigDecimal("total_amount"))
+                    .version(rs.getLong("version"))
+                    .build();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot read order row " + id, ex);
+        }
+    }
+
+    private static void addItem(OrderResponse order, ResultSet rs) throws SQLException {
+        UUID productId = rs.getObject("product_id", UUID.class);
+        if (productId == null) {
+            return;
+        }
+        order.getItems().add(OrderProductResponse.builder()
+                .productId(productId)
+                .name(rs.getString("name"))
+                .quantity(rs.getInt("quantity"))
+                .price(rs.getBigDecimal("unit_price"))
+                .build());
+    }
+
+    private static String orderBy(Sort sort, String alias) {
+        List<String> parts = new ArrayList<>();
+        boolean hasId = false;
+        for (Sort.Order o : sort) {
+            String column = SORT_COLUMNS.get(o.getProperty());
+            if (column == null) {
+                throw new UnsupportedSortException(o.getProperty());
+            }
+            hasId |= column.equals("id");
+            parts.add(alias + "." + column + (o.isAscending() ? " ASC" : " DESC"));
+        }
+        if (!hasId) {
+            // стабильный порядок при равных значениях сортировки
+            parts.add(alias + ".id DESC");
+        }
+        return String.join(", ", parts);
+    }
+}
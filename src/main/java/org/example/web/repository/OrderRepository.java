@@ -1,5 +1,6 @@
 package org.example.web.repository;
 
+import jakarta.persistence.LockModeType;
 import org.example.web.model.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,6 +8,9 @@ import org.springframework.data.domain.Range;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -18,6 +22,38 @@ public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecific
     @EntityGraph(attributePaths = {"client", "items", "items.product"})
     Optional<Order> findDetailedById(UUID id);
 
+    /**
+     * заказ без позиций под блокировкой строки - для инкремента итогов при добавлении позиции
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> findLockedById(@Param("id") UUID id);
+
+    /**
+     * только версия, без entity graph - для ответа 304 на If-None-Match
+     */
+    @Query("select o.version from Order o where o.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    /**
+     * версия заказа и id/название товара каждой позиции - ETag для If-None-Match без загрузки агрегата;
+     * у заказа без позиций одна строка с null вместо товара
+     */
+    @Query("""
+            select o.version as version, p.id as productId, p.name as productName
+            from Order o left join o.items i left join i.product p
+            where o.id = :id
+            """)
+    List<VersionRow> findVersionRowsById(@Param("id") UUID id);
+
+    interface VersionRow {
+        Long getVersion();
+
+        UUID getProductId();
+
+        String getProductName();
+    }
+
     boolean existsByClientId(UUID clientId);
 
     @EntityGraph(attributePaths = {"client", "items", "items.product"})
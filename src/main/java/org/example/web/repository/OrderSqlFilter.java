@@ -0,0 +1,39 @@
+package org.example.web.repository;
+
+import org.example.web.dto.order.OrderFilter;
+
+import java.util.List;
+
+/**
+ * Переводит {@link OrderFilter} в WHERE-условие нативного SQL по таблице orders (алиас o).
+ * Параметры добавляются в {@code params} в порядке плейсхолдеров.
+ */
+final class OrderSqlFilter {
+    private OrderSqlFilter() {
+    }
+
+    static String where(OrderFilter f, List<Object> params) {
+        StringBuilder sql = new StringBuilder("TRUE");
+        if (f == null) {
+            return sql.toString();
+        }
+        if (f.status() != null && !f.status().isBlank()) {
+            sql.append(" AND o.status = ?");
+            params.add(f.status());
+        }
+        if (f.from() != null) {
+            sql.append(" AND o.created_at >= ?");
+            params.add(f.from());
+        }
+        if (f.to() != null) {
+            sql.append(" AND o.created_at <= ?");
+            params.add(f.to());
+        }
+        if (f.productId() != null) {
+            // EXISTS вместо join + distinct: не размножает строки и не требует count(distinct)
+            sql.append(" AND EXISTS (SELECT 1 FROM order_products x WHERE x.order_id = o.id AND x.product_id = ?)");
+            params.add(f.productId());
+        }
+        return sql.toString();
+    }
+}
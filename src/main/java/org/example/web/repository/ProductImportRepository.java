@@ -0,0 +1,170 @@
+package org.example.web.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.web.exception.InvalidImportException;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * Импорт каталога: строки заливаются протоколом COPY во временную таблицу,
+ * затем сливаются в products одним INSERT ... ON CONFLICT по ux_products_name_ci.
+ * Все методы должны вызываться в одной транзакции - временная таблица живёт до её конца.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductImportRepository {
+
+    private static final String COPY_COLUMNS = "COPY product_import (name, description, price) FROM STDIN WITH (FORMAT csv";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * @param superseded валидные строки, вытесненные более поздней строкой с тем же именем
+     */
+    public record MergeResult(long staged, long inserted, long updated, long unchanged, long superseded) {
+        public long rejected() {
+            return staged - inserted - updated - unchanged - superseded;
+        }
+    }
+
+    public void createStaging() {
+        jdbc.execute("DROP TABLE IF EXISTS product_import");
+        // значения храним текстом: валидация и приведение типов - в merge(), чтобы плохая строка не роняла весь COPY
+        jdbc.execute("""
+                CREATE TEMP TABLE product_import (
+                    line        bigint GENERATED ALWAYS AS IDENTITY,
+                    name        text,
+                    description text,
+                    price       text
+                ) ON COMMIT DROP
+                """);
+    }
+
+    /**
+     * Передаёт CSV клиента (UTF-8) в COPY байтами, без разбора на стороне приложения.
+     *
+     * @return число загруженных строк
+     */
+    public long copyCsv(InputStream csv) {
+        return copy(COPY_COLUMNS + ", HEADER true)", copyIn -> {
+            byte[] bytes = new byte[COPY_BUFFER_SIZE];
+            int n;
+            while ((n = csv.read(bytes)) != -1) {
+                copyIn.writeToCopy(bytes, 0, n);
+            }
+        });
+    }
+
+    /**
+     * Загружает уже разобранные строки (name, description, price); null в массиве становится NULL.
+     *
+     * @return число загруженных строк
+     */
+    public long copyRows(Iterator<String[]> rows) {
+        return copy(COPY_COLUMNS + ")", copyIn -> {
+            StringBuilder buf = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+            while (rows.hasNext()) {
+                String[] row = rows.next();
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) buf.append(',');
+                    if (row[i] != null) {
+                        buf.append('"').append(row[i].replace("\"", "\"\"")).append('"');
+                    }
+                }
+                buf.append('\n');
+                if (buf.length() >= COPY_BUFFER_SIZE) {
+                    write(copyIn, buf);
+                }
+            }
+            write(copyIn, buf);
+        });
+    }
+
+    /**
+     * Сливает валидные строки в products. Из нескольких строк с одинаковым именем (без учёта регистра)
+     * берётся последняя, остальные считаются вытесненными, а не отклонёнными; существующий товар
+     * обновляется, только если что-то изменилось.
+     */
+    public MergeResult merge() {
+        return jdbc.queryForObject("""
+                WITH staged AS (
+                    SELECT line, btrim(name) AS name, btrim(description) AS description, btrim(price) AS price
+                    FROM product_import
+                ), checked AS (
+                    SELECT line, name, description, price
+                    FROM staged
+                    WHERE name <> '' AND length(name) <= 255
+                      AND description <> '' AND length(description) <= 255
+                      AND price ~ '^[0-9]{1,17}(\\.[0-9]{1,2})?$'
+                ), valid AS (
+                    SELECT DISTINCT ON (lower(name)) name, description, price::numeric(19, 2) AS price
+                    FROM checked
+                    ORDER BY lower(name), line DESC
+                ), merged AS (
+                    INSERT INTO products AS p (id, name, description, price, version)
+                    SELECT uuid_generate_v7(), name, description, price, 0
+                    FROM valid
+                    ON CONFLICT (lower(name)) DO UPDATE
+                        SET name        = EXCLUDED.name,
+                            description = EXCLUDED.description,
+                            price       = EXCLUDED.price,
+                            version     = p.version + 1
+                        WHERE (p.name, p.description, p.price)
+                              IS DISTINCT FROM (EXCLUDED.name, EXCLUDED.description, EXCLUDED.price)
+                    RETURNING (xmax = 0) AS inserted
+                )
+                SELECT (SELECT count(*) FROM staged)                          AS staged,
+                       (SELECT count(*) FROM checked)                         AS checked,
+                       (SELECT count(*) FROM valid)                           AS valid,
+                       (SELECT count(*) FILTER (WHERE inserted) FROM merged)     AS inserted,
+                       (SELECT count(*) FILTER (WHERE NOT inserted) FROM merged) AS updated
+                """, (rs, i) -> {
+            long inserted = rs.getLong("inserted");
+            long updated = rs.getLong("updated");
+            long valid = rs.getLong("valid");
+            return new MergeResult(rs.getLong("staged"), inserted, updated, valid - inserted - updated,
+                    rs.getLong("checked") - valid);
+        });
+    }
+
+    private long copy(String sql, CopyBody body) {
+        return jdbc.execute((ConnectionCallback<Long>) con -> {
+            CopyIn copyIn = con.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            try {
+                body.write(copyIn);
+                return copyIn.endCopy();
+            } catch (SQLException ex) {
+                // postgres отверг сам файл: неверное число колонок, незакрытые кавычки и т.п.
+                throw new InvalidImportException(ex.getMessage(), ex);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buf) throws SQLException {
+        byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buf.setLength(0);
+    }
+
+    @FunctionalInterface
+    private interface CopyBody {
+        void write(CopyIn copyIn) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.web.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.web.dto.product.ProductResponse;
+import org.example.web.util.ProductSearchCursor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Полнотекстовый поиск по products.search_vector (GIN idx_products_search_vector).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductSearchRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public record Hit(ProductResponse product, float rank) {
+    }
+
+    /**
+     * Совпадения с tsquery, от самых релевантных; при равном ранге - по id по убыванию.
+     * Ранг считается для всех совпадений, поэтому стоимость окна определяется числом совпадений, а не OFFSET.
+     *
+     * @param tsquery запрос в синтаксисе to_tsquery, собранный из безопасных лексем
+     * @param after   курсор последней строки предыдущего окна или null
+     */
+    public List<Hit> search(String tsquery, ProductSearchCursor after, int limit) {
+        List<Object> params = new ArrayList<>();
+        params.add(tsquery);
+        String keyset = "";
+        if (after != null) {
+            keyset = "WHERE (r.rank, r.id) < (?::real, ?)";
+            params.add(after.rank());
+            params.add(after.id());
+        }
+        params.add(limit);
+
+        String sql = """
+                SELECT r.id, r.name, r.description, r.price, r.version, r.rank
+                FROM (SELECT p.id, p.name, p.description, p.price, p.version,
+                             ts_rank(p.search_vector, q) AS rank
+                      FROM products p, to_tsquery('simple', ?) q
+                      WHERE p.search_vector @@ q) r
+                %s
+                ORDER BY r.rank DESC, r.id DESC
+                LIMIT ?
+                """.formatted(keyset);
+
+        return jdbc.query(sql, (rs, i) -> new Hit(ProductResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .price(rs.getBigDecimal("price"))
+                .version(rs.getLong("version"))
+                .build(), rs.getFloat("rank")), params.toArray());
+    }
+}
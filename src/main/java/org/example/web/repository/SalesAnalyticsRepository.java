@@ -0,0 +1,160 @@
+package org.example.web.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.web.dto.analytics.ClientDailySales;
+import org.example.web.dto.analytics.DailySales;
+import org.example.web.dto.analytics.ProductSales;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Витрина продаж sales_daily_product / sales_daily_client. Изменения заказов
+ * переносятся в неё дельтами (upsert с прибавлением), чтение идёт только по витрине.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesAnalyticsRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public record Rebuild(int productDays, int clientDays) {
+    }
+
+    /**
+     * Прибавляет (sign = 1) или вычитает (sign = -1) вклад заказов целиком по их текущим строкам в базе.
+     * Статус заказа не проверяется - это решает вызывающий. Позиции без товара, заказы без клиента
+     * или без даты создания (старые строки, допускаемые схемой V1) в витрину не попадают.
+     */
+    public void applyOrders(Collection<UUID> orderIds, int sign) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        UUID[] ids = orderIds.toArray(UUID[]::new);
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    INSERT INTO sales_daily_product AS s (product_id, day, units, revenue)
+                    SELECT op.product_id, o.created_at::date, ? * sum(op.quantity), ? * sum(op.quantity * op.unit_price)
+                    FROM orders o
+                    JOIN order_products op ON op.order_id = o.id
+                    WHERE o.id = ANY(?) AND op.product_id IS NOT NULL AND o.created_at IS NOT NULL
+                    GROUP BY op.product_id, o.created_at::date
+                    ON CONFLICT (product_id, day) DO UPDATE
+                        SET units = s.units + EXCLUDED.units, revenue = s.revenue + EXCLUDED.revenue
+                    """);
+            ps.setInt(1, sign);
+            ps.setInt(2, sign);
+            ps.setArray(3, con.createArrayOf("uuid", ids));
+            return ps;
+        });
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    INSERT INTO sales_daily_client AS s (client_id, day, orders, units, revenue)
+                    SELECT o.client_id, o.created_at::date, ? * count(*), ? * sum(o.items_total), ? * sum(o.total_amount)
+                    FROM orders o
+                    WHERE o.id = ANY(?) AND o.client_id IS NOT NULL AND o.created_at IS NOT NULL
+                    GROUP BY o.client_id, o.created_at::date
+                    ON CONFLICT (client_id, day) DO UPDATE
+                        SET orders = s.orders + EXCLUDED.orders,
+                            units = s.units + EXCLUDED.units,
+                            revenue = s.revenue + EXCLUDED.revenue
+                    """);
+            ps.setInt(1, sign);
+            ps.setInt(2, sign);
+            ps.setInt(3, sign);
+            ps.setArray(4, con.createArrayOf("uuid", ids));
+            return ps;
+        });
+    }
+
+    /**
+     * Дельта одной позиции заказа: добавление, смена количества, удаление.
+     *
+     * @param clientId null - заказ без клиента, строка клиента не меняется
+     */
+    public void applyItem(LocalDate day, UUID clientId, UUID productId, int units, BigDecimal revenue) {
+        jdbc.update("""
+                INSERT INTO sales_daily_product AS s (product_id, day, units, revenue)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (product_id, day) DO UPDATE
+                    SET units = s.units + EXCLUDED.units, revenue = s.revenue + EXCLUDED.revenue
+                """, productId, Date.valueOf(day), units, revenue);
+        if (clientId == null) {
+            return;
+        }
+        jdbc.update("""
+                INSERT INTO sales_daily_client AS s (client_id, day, orders, units, revenue)
+                VALUES (?, ?, 0, ?, ?)
+                ON CONFLICT (client_id, day) DO UPDATE
+                    SET units = s.units + EXCLUDED.units, revenue = s.revenue + EXCLUDED.revenue
+                """, clientId, Date.valueOf(day), units, revenue);
+    }
+
+    /**
+     * Пересчёт витрины с нуля. TRUNCATE держит эксклюзивную блокировку до конца транзакции,
+     * поэтому параллельные дельты дождутся пересчёта и лягут поверх него.
+     */
+    public Rebuild rebuild() {
+        jdbc.execute("TRUNCATE sales_daily_product, sales_daily_client");
+        int productDays = jdbc.update("""
+                INSERT INTO sales_daily_product (product_id, day, units, revenue)
+                SELECT op.product_id, o.created_at::date, sum(op.quantity), sum(op.quantity * op.unit_price)
+                FROM orders o
+                JOIN order_products op ON op.order_id = o.id
+                WHERE o.status IS DISTINCT FROM 'CANCELED'
+                  AND op.product_id IS NOT NULL AND o.created_at IS NOT NULL
+                GROUP BY op.product_id, o.created_at::date
+                """);
+        int clientDays = jdbc.update("""
+                INSERT INTO sales_daily_client (client_id, day, orders, units, revenue)
+                SELECT o.client_id, o.created_at::date, count(*), sum(o.items_total), sum(o.total_amount)
+                FROM orders o
+                WHERE o.status IS DISTINCT FROM 'CANCELED' AND o.client_id IS NOT NULL AND o.created_at IS NOT NULL
+                GROUP BY o.client_id, o.created_at::date
+                """);
+        return new Rebuild(productDays, clientDays);
+    }
+
+    public List<DailySales> productDaily(UUID productId, LocalDate from, LocalDate to) {
+        return jdbc.query("""
+                SELECT day, units, revenue
+                FROM sales_daily_product
+                WHERE product_id = ? AND day BETWEEN ? AND ? AND units <> 0
+                ORDER BY day
+                """, (rs, i) -> new DailySales(rs.getDate("day").toLocalDate(), rs.getLong("units"),
+                rs.getBigDecimal("revenue")), productId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public List<ClientDailySales> clientDaily(UUID clientId, LocalDate from, LocalDate to) {
+        return jdbc.query("""
+                SELECT day, orders, units, revenue
+                FROM sales_daily_client
+                WHERE client_id = ? AND day BETWEEN ? AND ? AND orders <> 0
+                ORDER BY day
+                """, (rs, i) -> new ClientDailySales(rs.getDate("day").toLocalDate(), rs.getLong("orders"),
+                rs.getLong("units"), rs.getBigDecimal("revenue")), clientId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public List<ProductSales> topProducts(LocalDate from, LocalDate to, int limit) {
+        return jdbc.query("""
+                SELECT s.product_id, p.name, s.units, s.revenue
+                FROM (SELECT product_id, sum(units) AS units, sum(revenue) AS revenue
+                      FROM sales_daily_product
+                      WHERE day BETWEEN ? AND ?
+                      GROUP BY product_id
+                      HAVING sum(units) > 0
+                      ORDER BY revenue DESC, product_id
+                      LIMIT ?) s
+                LEFT JOIN products p ON p.id = s.product_id
+                ORDER BY s.revenue DESC, s.product_id
+                """, (rs, i) -> new ProductSales(rs.getObject("product_id", UUID.class), rs.getString("name"),
+                rs.getLong("units"), rs.getBigDecimal("revenue")), Date.valueOf(from), Date.valueOf(to), limit);
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.web.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * JpaRepository со списком по спецификации без count-запроса.
+ * Реализация - {@link SliceRepositoryImpl}, подключена как repositoryBaseClass в JpaConfig.
+ */
+@NoRepositoryBean
+public interface SliceRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+    /**
+     * Страница без total: читается на одну строку больше, лишняя строка только выставляет hasNext.
+     */
+    Slice<T> findSlice(Specification<T> spec, Pageable pageable);
+}
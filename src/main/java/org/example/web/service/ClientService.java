@@ -1,8 +1,10 @@
 package org.example.web.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.web.dto.CountMode;
 import org.example.web.dto.client.ClientFilter;
 import org.example.web.dto.client.ClientRequest;
 import org.example.web.dto.client.ClientResponse;
@@ -13,20 +15,20 @@ import org.example.web.mappers.ClientMapper;
 import org.example.web.model.Client;
 import org.example.web.repository.ClientRepository;
 import org.example.web.repository.OrderRepository;
+import org.example.web.repository.RowEstimateRepository;
+import org.example.web.util.Slices;
 import org.example.web.util.SpecBuilder;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.example.web.util.SqlWhere;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 @Transactional
 public class ClientService {
@@ -34,6 +36,7 @@ public class ClientService {
     private final ClientRepository repo;
     private final OrderRepository orderRepo;
     private final ClientMapper mapper;
+    private final RowEstimateRepository rowEstimates;
 
 
     public ClientResponse create(ClientRequest req) {
@@ -44,15 +47,14 @@ public class ClientService {
         Client saved = repo.save(mapper.toEntity(req));
         log.info("Client created: id={}", saved.getId());
 
-        return mapper.toResponse(saved, Map.of(saved.getId(), 0L));
+        return mapper.toResponse(saved);
     }
 
     public ClientResponse getOne(UUID id) {
         log.debug("Client getOne start: id={}", id);
         Client entity = repo.findById(id)
                 .orElseThrow(() -> new NotFoundException("Client", id));
-        long cnt = repo.countOrdersByClientId(id);
-        return mapper.toResponse(entity, Map.of(id, cnt));
+        return mapper.toResponse(entity);
     }
 
     public ClientResponse update(UUID id, ClientRequest req) {
@@ -69,8 +71,7 @@ public class ClientService {
         mapper.updateEntity(req, entity);
         log.info("Client updated: id={}, firstName={}, lastName={}, email={}",
                 id, entity.getFirstName(), entity.getLastName(), entity.getEmail());
-        long cnt = repo.countOrdersByClientId(id);
-        return mapper.toResponse(entity, Map.of(id, cnt));
+        return mapper.toResponse(entity);
     }
 
     public void delete(UUID id) {
@@ -85,31 +86,44 @@ public class ClientService {
         log.info("Client deleted: id={}", id);
     }
 
-    public Page<ClientResponse> findAll (ClientFilter filter,
-                                         Pageable pageable) {
-        log.debug("Find clients start: filter={}", filter);
+    public Slice<ClientResponse> findAll(ClientFilter filter, Pageable pageable) {
+        return findAll(filter, pageable, CountMode.EXACT);
+    }
+
+    public Slice<ClientResponse> findAll (ClientFilter filter,
+                                          Pageable pageable,
+                                          CountMode count) {
+        log.debug("Find clients start: filter={}, count={}", filter, count);
         Specification<Client> spec = Specification
                 .where(SpecBuilder.<Client>like("firstName", filter.firstName()))
                 .and(SpecBuilder.like("lastName", filter.lastName()))
                 .and(SpecBuilder.like("email", filter.email()))
                 .and(SpecBuilder.like("phone", filter.phone()));
+        if (SpecBuilder.sortsByRelevance(pageable)) {
+            spec = spec.and(SpecBuilder.rankBySimilarity(SpecBuilder.terms(
+                    "firstName", filter.firstName(), "lastName", filter.lastName(),
+                    "email", filter.email(), "phone", filter.phone())));
+            pageable = SpecBuilder.unsorted(pageable);
+        }
 
-        Page<Client> page = repo.findAll(spec, pageable);
-        log.debug("Clients page loaded: number={}, returned={}, total={}",
-                page.getNumber(), page.getNumberOfElements(), page.getTotalElements());
-        List<UUID> ids = page.getContent().stream().map(Client::getId).toList();
-
-        Map<UUID, Long> counts = ids.isEmpty() ? Map.of()
-                : repo.countOrdersByClientIds(ids).stream()
-                .collect(Collectors.toMap(ClientRepository.ClientOrderCount::getClientId,
-                        ClientRepository.ClientOrderCount::getCnt));
-
-        List<ClientResponse> content = page.getContent().stream()
-                .map(c -> mapper.toResponse(c, counts))
-                .toList();
-
-        log.debug("Clients mapped: {}", content.size());
-        return new PageImpl<>(content, pageable, page.getTotalElements());
+        Slice<Client> page = switch (count) {
+            case EXACT -> repo.findAll(spec, pageable);
+            case NONE -> repo.findSlice(spec, pageable);
+            case ESTIMATE -> Slices.estimated(repo.findSlice(spec, pageable), () -> {
+                SqlWhere where = new SqlWhere()
+                        .like("first_name", "firstName", filter.firstName())
+                        .like("last_name", "lastName", filter.lastName())
+                        .like("email", "email", filter.email())
+                        .like("phone", "phone", filter.phone());
+                return rowEstimates.estimate("clients", where.sql(), where.params());
+            });
+        };
+        log.debug("Clients page loaded: number={}, returned={}, hasNext={}",
+                page.getNumber(), page.getNumberOfElements(), page.hasNext());
+        // orders_count хранится в самой строке клиента - orders не агрегируется
+        Slice<ClientResponse> resp = page.map(mapper::toResponse);
+        log.debug("Clients mapped: {}", resp.getNumberOfElements());
+        return resp;
     }
 
 
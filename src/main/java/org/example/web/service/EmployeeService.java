@@ -1,8 +1,10 @@
 package org.example.web.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.web.dto.CountMode;
 import org.example.web.dto.employee.EmployeeFilter;
 import org.example.web.dto.employee.EmployeeRequest;
 import org.example.web.dto.employee.EmployeeResponse;
@@ -11,9 +13,13 @@ import org.example.web.exception.NotFoundException;
 import org.example.web.mappers.EmployeeMapper;
 import org.example.web.model.Employee;
 import org.example.web.repository.EmployeeRepository;
+import org.example.web.repository.RowEstimateRepository;
 import org.example.web.util.EmployeeSpecs;
-import org.springframework.data.domain.Page;
+import org.example.web.util.Slices;
+import org.example.web.util.SpecBuilder;
+import org.example.web.util.SqlWhere;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
@@ -21,12 +27,14 @@ import java.util.UUID;
 
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 @Transactional
 public class EmployeeService {
 
     private final EmployeeRepository repository;
     private final EmployeeMapper mapper;
+    private final RowEstimateRepository rowEstimates;
 
 
     public EmployeeResponse create(EmployeeRequest employeeRequest) {
@@ -49,12 +57,32 @@ public class EmployeeService {
     }
 
 
-    public Page<EmployeeResponse> findAll(EmployeeFilter f, Pageable pageable) {
+    public Slice<EmployeeResponse> findAll(EmployeeFilter f, Pageable pageable) {
+        return findAll(f, pageable, CountMode.EXACT);
+    }
+
+    public Slice<EmployeeResponse> findAll(EmployeeFilter f, Pageable pageable, CountMode count) {
         Specification<Employee> spec = Specification.where(EmployeeSpecs.firstNameContains(f.firstName()))
                 .and(EmployeeSpecs.lastNameContains(f.lastName()))
                 .and(EmployeeSpecs.hasRole(f.role()));
+        if (SpecBuilder.sortsByRelevance(pageable)) {
+            spec = spec.and(SpecBuilder.rankBySimilarity(SpecBuilder.terms(
+                    "firstName", f.firstName().orElse(null), "lastName", f.lastName().orElse(null))));
+            pageable = SpecBuilder.unsorted(pageable);
+        }
 
-        return repository.findAll(spec, pageable).map(mapper::toDto);
+        Slice<Employee> page = switch (count) {
+            case EXACT -> repository.findAll(spec, pageable);
+            case NONE -> repository.findSlice(spec, pageable);
+            case ESTIMATE -> Slices.estimated(repository.findSlice(spec, pageable), () -> {
+                SqlWhere where = new SqlWhere()
+                        .like("first_name", "firstName", f.firstName().orElse(null))
+                        .like("last_name", "lastName", f.lastName().orElse(null))
+                        .eq("role", f.role().map(Enum::name).orElse(null));
+                return rowEstimates.estimate("employee", where.sql(), where.params());
+            });
+        };
+        return page.map(mapper::toDto);
     }
 
     public EmployeeResponse updateEmployee(UUID id, @Valid EmployeeRequest employeeRequest) {
@@ -0,0 +1,167 @@
+package org.example.web.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.web.dto.order.OrderResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Кэш OrderResponse по id заказа в памяти процесса: ограничен по размеру и по TTL,
+ * статистика (hits/misses/evictions) публикуется в Micrometer как cache.* с тегом name=orders.
+ * Записи из транзакции попадают в кэш только после коммита; из двух представлений одного заказа
+ * остаётся то, у которого версия не меньше, поэтому завершившийся позже читатель не затирает
+ * закоммиченное писателем состояние.
+ */
+@Slf4j
+@Component
+public class OrderCache {
+
+    static final String NAME = "orders";
+
+    private final Cache<UUID, OrderResponse> cache;
+    /** номер последнего сброса ключа: прочитанное до него в кэш уже не попадает */
+    private final Cache<UUID, Long> evictedAt;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long clearedAt;
+
+    public OrderCache(@Value("${app.cache.orders.max-size:10000}") long maxSize,
+                      @Value("${app.cache.orders.ttl:5m}") Duration ttl,
+                      ObjectProvider<MeterRegistry> registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.evictedAt = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        registry.ifAvailable(r -> CaffeineCacheMetrics.monitor(r, cache, NAME));
+        log.info("Order cache configured: maxSize={}, ttl={}", maxSize, ttl);
+    }
+
+    public OrderResponse get(UUID id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Отметка, которую читатель берёт до чтения из базы и передаёт в {@link #putLoaded}.
+     */
+    public long ticket() {
+        return sequence.get();
+    }
+
+    /**
+     * Кладёт представление заказа, только что изменённого писателем. Внутри транзакции старое
+     * значение сразу убирается, а новое публикуется после коммита; при откате ключ остаётся пустым.
+     */
+    public void put(UUID id, OrderResponse response) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            merge(id, response);
+            return;
+        }
+        cache.invalidate(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    merge(id, response);
+                } else {
+                    cache.invalidate(id);
+                }
+            }
+        });
+    }
+
+    /**
+     * Кладёт заказ, прочитанный при промахе. Текущую запись не трогает; публикация (после коммита,
+     * если есть транзакция) пропускается, если ключ сбрасывали после {@code ticket}.
+     */
+    public void putLoaded(UUID id, OrderResponse response, long ticket) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mergeLoaded(id, response, ticket);
+            return;
+        }
+        afterCompletion(status -> {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                mergeLoaded(id, response, ticket);
+            }
+        });
+    }
+
+    /**
+     * Удаляет заказ из кэша сейчас и ещё раз после завершения транзакции, чтобы параллельное
+     * чтение не вернуло в кэш незакоммиченное или уже устаревшее состояние.
+     */
+    public void evict(UUID id) {
+        invalidate(id);
+        afterCompletion(status -> invalidate(id));
+    }
+
+    public void evictAll(Collection<UUID> ids) {
+        ids.forEach(this::invalidate);
+        afterCompletion(status -> ids.forEach(this::invalidate));
+    }
+
+    public void evictAll() {
+        invalidateAll();
+        afterCompletion(status -> invalidateAll());
+    }
+
+    private void merge(UUID id, OrderResponse response) {
+        cache.asMap().merge(id, response, (old, neu) -> isNotOlder(neu, old) ? neu : old);
+    }
+
+    /**
+     * проверка отметки сброса и вставка идут под блокировкой ключа, как и {@link #invalidate}
+     */
+    private void mergeLoaded(UUID id, OrderResponse response, long ticket) {
+        cache.asMap().compute(id, (key, old) -> {
+            Long evicted = evictedAt.getIfPresent(key);
+            if (clearedAt > ticket || (evicted != null && evicted > ticket)) {
+                return old;
+            }
+            return old == null || isNotOlder(response, old) ? response : old;
+        });
+    }
+
+    private static boolean isNotOlder(OrderResponse neu, OrderResponse old) {
+        return neu.getVersion() == null || old.getVersion() == null || neu.getVersion() >= old.getVersion();
+    }
+
+    private void invalidate(UUID id) {
+        cache.asMap().compute(id, (key, old) -> {
+            evictedAt.put(key, sequence.incrementAndGet());
+            return null;
+        });
+    }
+
+    private void invalidateAll() {
+        clearedAt = sequence.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void afterCompletion(IntConsumer action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.web.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.web.dto.order.OrderExportFormat;
+import org.example.web.dto.order.OrderFilter;
+import org.example.web.dto.order.OrderResponse;
+import org.example.web.repository.OrderReadRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Выгрузка заказов потоком: строки читаются курсором и сразу пишутся в ответ,
+ * поэтому память не зависит от размера выборки.
+ */
+@Slf4j
+@Service
+@Timed(value = "app.service", histogram = true)
+@RequiredArgsConstructor
+@Transactional
+public class OrderExportService {
+
+    static final String CSV_HEADER = "id,created_at,status,client_id,items_total,total_amount";
+
+    private final OrderReadRepository readRepo;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Транзакция открывается здесь, в потоке записи ответа: курсор postgres живёт только внутри неё.
+     */
+    public long export(OrderFilter filter, OrderExportFormat format, OutputStream out) throws IOException {
+        log.debug("Order export start: filter={}, format={}", filter, format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long[] rows = {0};
+        if (format == OrderExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            readRepo.stream(filter, format == OrderExportFormat.NDJSON, order -> {
+                write(writer, format, order);
+                rows[0]++;
+            });
+        } catch (UncheckedIOException ex) {
+            // клиент оборвал соединение - курсор закрывается вместе с транзакцией
+            log.warn("Order export aborted after {} rows: {}", rows[0], ex.getCause().getMessage());
+            throw ex.getCause();
+        }
+        writer.flush();
+
+        log.info("Order export done: format={}, rows={}", format, rows[0]);
+        return rows[0];
+    }
+
+    private void write(Writer writer, OrderExportFormat format, OrderResponse order) {
+        try {
+            if (format == OrderExportFormat.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(order));
+            } else {
+                writer.write(order.getId() + "," + order.getCreatedAt() + "," + order.getStatus() + ","
+                        + order.getClientId() + "," + order.getItemsTotal() + "," + order.getTotalAmount().toPlainString());
+            }
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
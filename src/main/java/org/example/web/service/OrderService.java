@@ -1,16 +1,30 @@
 package org.example.web.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.web.dto.CountMode;
+import org.example.web.dto.CursorPage;
+import org.example.web.dto.order.OrderBatchResponse;
+import org.example.web.dto.order.OrderBatchResult;
+import org.example.web.dto.order.OrderBulkStatusRequest;
+import org.example.web.dto.order.OrderBulkStatusResponse;
 import org.example.web.dto.order.OrderFilter;
 import org.example.web.dto.order.OrderRequest;
 import org.example.web.dto.order.OrderResponse;
+import org.example.web.dto.order.OrderVersion;
 import org.example.web.dto.orderProduct.OrderProductRequest;
+import org.example.web.dto.orderProduct.OrderProductResponse;
+import org.example.web.exception.BatchTooLargeException;
 import org.example.web.exception.DuplicateProductInOrderException;
 import org.example.web.exception.NotFoundException;
+import org.example.web.exception.PreconditionFailedException;
 import org.example.web.mappers.OrderMapper;
 import org.example.web.model.Client;
 import org.example.web.model.Order;
@@ -18,20 +32,34 @@ import org.example.web.model.OrderProduct;
 import org.example.web.model.OrderStatus;
 import org.example.web.model.Product;
 import org.example.web.repository.ClientRepository;
+import org.example.web.repository.OrderBulkRepository;
 import org.example.web.repository.OrderProductRepository;
+import org.example.web.repository.OrderReadRepository;
 import org.example.web.repository.OrderRepository;
 import org.example.web.repository.ProductRepository;
+import org.example.web.repository.SalesAnalyticsRepository;
+import org.example.web.util.OrderCursor;
 import org.example.web.util.OrderSpecs;
+import org.example.web.util.Slices;
+import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
@@ -41,15 +69,27 @@ import static java.util.stream.Collectors.*;
 
 @Slf4j
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 @Transactional
 public class OrderService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 50_000;
+    private static final int BATCH_CHUNK_SIZE = 500;
+
     private final OrderRepository orderRepo;
+    private final OrderReadRepository readRepo;
+    private final OrderBulkRepository bulkRepo;
     private final ClientRepository clientRepo;
     private final ProductRepository productRepo;
+    private final ProductCatalog productCatalog;
     private final OrderProductRepository orderProductRepo;
     private final OrderMapper mapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final OrderCache cache;
+    private final SalesAnalyticsRepository analyticsRepo;
 
     public OrderResponse create(OrderRequest req) {
         int requested = (req.getProducts() == null) ? 0 : req.getProducts().size();
@@ -75,172 +115,582 @@ public class OrderService {
                 .status(status)
                 .items(items)
                 .build();
-        items.forEach(i -> i.setOrder(order));
+        items.forEach(i -> {
+            i.setOrder(order);
+            adjustTotals(order, i.getQuantity(), lineAmount(i, i.getQuantity()));
+        });
 
         Order saved = orderRepo.save(order);
+        orderRepo.flush();
+        clientRepo.adjustOrdersCount(List.of(saved.getId()), 1);
+        if (status.isSale()) {
+            analyticsRepo.applyOrders(List.of(saved.getId()), 1);
+        }
         log.info("Order saved: id={}", saved.getId());
 
-        OrderResponse resp = getOne(saved.getId());
+        // агрегат уже в памяти целиком - ответ собирается без повторного чтения
+        OrderResponse resp = respond(saved, true);
         log.debug("Order mapped to response: id={}", resp.getId());
 
         return resp;
     }
 
+    /**
+     * Массовое создание заказов: клиенты и товары проверяются одним запросом на чанк,
+     * вставки уходят JDBC-батчами (hibernate.jdbc.batch_size), некорректные заказы
+     * отклоняются по отдельности и не мешают остальным.
+     */
+    public OrderBatchResponse createBatch(List<OrderRequest> requests) {
+        log.debug("Order batch start: size={}", requests.size());
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(requests.size(), MAX_BATCH_SIZE);
+        }
+
+        OrderBatchResult[] results = new OrderBatchResult[requests.size()];
+        Map<UUID, BigDecimal> prices = new HashMap<>();
+        for (int from = 0; from < requests.size(); from += BATCH_CHUNK_SIZE) {
+            int to = Math.min(from + BATCH_CHUNK_SIZE, requests.size());
+            createChunk(requests, from, to, prices, results);
+        }
+
+        List<OrderBatchResult> list = List.of(results);
+        int created = (int) list.stream().filter(r -> r.status() == OrderBatchResult.Status.CREATED).count();
+        log.info("Order batch saved: created={}, rejected={}", created, list.size() - created);
+
+        return new OrderBatchResponse(created, list.size() - created, list);
+    }
+
     public OrderResponse updateStatus(UUID id, OrderStatus status) {
+        return updateStatus(id, status, null, true);
+    }
+
+    /**
+     * @param expectedVersion версия из If-Match или null; при расхождении - {@link PreconditionFailedException}
+     * @param returnBody      false для {@code Prefer: return=minimal}: позиции не загружаются, возвращаются только версия и товары позиций для ETag
+     */
+    public OrderResponse updateStatus(UUID id, OrderStatus status, Long expectedVersion, boolean returnBody) {
         if (status == null) {
             throw new IllegalArgumentException("Order status cannot be null");
         }
         log.debug("Order updateStatus start: id={}, newStatus={}", id, status);
 
-        Order entity = orderRepo.findById(id).orElseThrow(() -> new NotFoundException("Order", id));
+        Order entity = (returnBody ? orderRepo.findDetailedById(id) : orderRepo.findById(id))
+                .orElseThrow(() -> new NotFoundException("Order", id));
+        checkVersion(entity, expectedVersion);
         OrderStatus oldStatus = entity.getStatus();
         if (oldStatus == status) {
             log.debug("Order status unchanged: id={}, status={}", id, oldStatus);
-            return getOne(id);
+            return returnBody ? mapper.toResponse(entity) : versionOnly(id);
         }
 
         entity.setStatus(status);
+        orderRepo.flush();
+        if (isSale(oldStatus) != status.isSale()) {
+            analyticsRepo.applyOrders(List.of(id), status.isSale() ? 1 : -1);
+        }
         log.info("Order status updated: id={}, from={}, to={}", id, oldStatus, status);
-        return getOne(id);
+        return respond(entity, returnBody);
+    }
+
+    /**
+     * Перевод множества заказов в новый статус одним UPDATE без загрузки сущностей.
+     */
+    public OrderBulkStatusResponse updateStatuses(OrderBulkStatusRequest req) {
+        List<UUID> ids = (req.ids() == null || req.ids().isEmpty()) ? null : req.ids().stream().distinct().toList();
+        if (ids != null && ids.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(ids.size(), MAX_BATCH_SIZE);
+        }
+        log.debug("Order bulk status start: ids={}, filter={}, status={}",
+                ids == null ? null : ids.size(), req.filter(), req.status());
+
+        // выборка по фильтру ограничена тем же лимитом, что и список ids: сверх него UPDATE не выполняется
+        OrderBulkRepository.StatusUpdate result = bulkRepo.updateStatus(ids, req.filter(), req.status(), MAX_BATCH_SIZE);
+        if (result.matched() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException((int) Math.min(result.matched(), Integer.MAX_VALUE), MAX_BATCH_SIZE);
+        }
+        cache.evictAll(result.updated().keySet());
+        // в витрину продаж попадают только заказы, перешедшие через границу CANCELED
+        List<UUID> salesChanged = result.updated().entrySet().stream()
+                .filter(e -> isSale(e.getValue()) != req.status().isSale())
+                .map(Map.Entry::getKey)
+                .toList();
+        analyticsRepo.applyOrders(salesChanged, req.status().isSale() ? 1 : -1);
+
+        long updated = result.updated().size();
+        long unmatched = ids == null ? 0 : ids.size() - result.matched();
+        log.info("Order bulk status done: status={}, matched={}, updated={}, unmatched={}",
+                req.status(), result.matched(), updated, unmatched);
+
+        return new OrderBulkStatusResponse(updated, result.matched() - updated, unmatched);
     }
 
     public OrderResponse getOne(UUID id) {
         log.debug("Order getOne start: id={}", id);
 
-        Order entity = orderRepo.findDetailedById(id).orElseThrow(() -> new NotFoundException("Order", id));
-
-        if (log.isDebugEnabled()) {
-            int items = (entity.getItems() == null) ? 0 : entity.getItems().size();
-            log.debug("Order loaded: id={}, itemCount={}", entity.getId(), items);
+        OrderResponse cached = cache.get(id);
+        if (cached != null) {
+            log.debug("Order served from cache: id={}", id);
+            return cached;
         }
+        return refresh(id);
+    }
+
+    /**
+     * Текущая версия заказа без загрузки агрегата - для сравнения с If-None-Match.
+     */
+    public long version(UUID id) {
+        return orderRepo.findVersionById(id).orElseThrow(() -> new NotFoundException("Order", id));
+    }
 
-        return mapper.toResponse(entity);
+    /**
+     * Версия заказа вместе с названиями товаров позиций: название входит в ответ,
+     * но его изменение не увеличивает версию заказа.
+     */
+    public OrderVersion versionWithProducts(UUID id) {
+        List<OrderRepository.VersionRow> rows = orderRepo.findVersionRowsById(id);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Order", id);
+        }
+        Map<UUID, String> names = new HashMap<>();
+        for (OrderRepository.VersionRow row : rows) {
+            if (row.getProductId() != null) {
+                names.put(row.getProductId(), row.getProductName());
+            }
+        }
+        return new OrderVersion(rows.get(0).getVersion(), names);
     }
 
     public void delete(UUID id) {
+        delete(id, null);
+    }
+
+    public void delete(UUID id, Long expectedVersion) {
         log.debug("Order delete start: id={}", id);
 
         Order entity = orderRepo.findById(id).orElseThrow(() -> new NotFoundException("Order", id));
+        checkVersion(entity, expectedVersion);
+        // счётчик клиента и вклад в продажи снимаются по строкам в базе, пока они ещё есть
+        clientRepo.adjustOrdersCount(List.of(id), -1);
+        if (isSale(entity.getStatus())) {
+            analyticsRepo.applyOrders(List.of(id), -1);
+        }
 
         orderRepo.delete(entity);
+        cache.evict(id);
         log.info("Order deleted: id={}", id);
     }
 
     public Page<OrderResponse> findAll(OrderFilter filter, Pageable pageable) {
         log.debug("Find orders start: filter={}", filter);
 
-        Specification<Order> spec = OrderSpecs.build(filter);
-        Page<Order> page = orderRepo.findAll(spec, pageable);
+        Page<OrderResponse> page = readRepo.findPage(filter, pageable);
         log.debug("Orders page loaded: number={}, returned={}, total={}",
                 page.getNumber(), page.getNumberOfElements(), page.getTotalElements());
 
-        if (page.isEmpty()) {
-            log.debug("Find orders: empty result");
-            return Page.empty(pageable);
+        return page;
+    }
+
+    /**
+     * Список заказов с выбранным способом подсчёта total: EXACT - {@link #findAll(OrderFilter, Pageable)},
+     * NONE - окно без count, ESTIMATE - окно и оценка планировщика вместо count по фильтру.
+     */
+    public Slice<OrderResponse> findAll(OrderFilter filter, Pageable pageable, CountMode count) {
+        if (count == CountMode.EXACT) {
+            return findAll(filter, pageable);
         }
+        log.debug("Find orders start: filter={}, count={}", filter, count);
 
-        List<UUID> ids = page.getContent().stream().map(Order::getId).toList();
+        Slice<OrderResponse> slice = readRepo.findSlice(filter, pageable);
+        if (count == CountMode.ESTIMATE) {
+            slice = Slices.estimated(slice, () -> readRepo.estimateCount(filter));
+        }
+        log.debug("Orders slice loaded: number={}, returned={}, hasNext={}",
+                slice.getNumber(), slice.getNumberOfElements(), slice.hasNext());
+        return slice;
+    }
 
-        List<Order> detailed = orderRepo.findByIdIn(ids);
+    public CursorPage<OrderResponse> scroll(OrderFilter filter, String after, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_SCROLL_SIZE);
+        OrderCursor cursor = (after == null || after.isBlank()) ? null : OrderCursor.decode(after);
+        log.debug("Scroll orders start: filter={}, after={}, size={}", filter, cursor, limit);
 
-        Map<UUID, Order> byId = detailed.stream()
-                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return scrollWindow(OrderSpecs.build(filter), cursor, limit);
+    }
 
-        List<OrderResponse> content = ids.stream()
-                .map(byId::get)
-                .filter(Objects::nonNull)
-                .map(mapper::toResponse)
-                .toList();
-        log.debug("Orders mapped: {}", content.size());
+    /**
+     * Лента заказов клиента: окно читается по idx_orders_client_created_at_id,
+     * позиции и товары догружаются одним запросом на окно.
+     */
+    public CursorPage<OrderResponse> scrollByClient(UUID clientId, String after, int size) {
+        if (!clientRepo.existsById(clientId)) {
+            throw new NotFoundException("Client", clientId);
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_SCROLL_SIZE);
+        OrderCursor cursor = (after == null || after.isBlank()) ? null : OrderCursor.decode(after);
+        log.debug("Scroll client orders start: clientId={}, after={}, size={}", clientId, cursor, limit);
 
-        return new PageImpl<>(content, pageable, page.getTotalElements());
+        return scrollWindow(OrderSpecs.ofClient(clientId), cursor, limit);
     }
 
     public Page<OrderResponse> findByClientId(UUID clientId, Pageable pageable) {
         if (!clientRepo.existsById(clientId)) {
             throw new NotFoundException("Client", clientId);
         }
-        return orderRepo.findByClientId(clientId, pageable)
-                .map(mapper::toResponse);
+        Page<Order> page = orderRepo.findByClientId(clientId, pageable);
+        // позиции всей страницы - одним запросом вместо ленивых пачек по 50
+        List<OrderResponse> content = loadDetailed(page.getContent().stream().map(Order::getId).toList());
+        return new PageImpl<>(content, pageable, page.getTotalElements());
     }
 
     public OrderResponse addProduct(UUID orderId, @Valid OrderProductRequest req) {
+        return addProduct(orderId, req, null, true);
+    }
+
+    /**
+     * Позиция вставляется напрямую по ссылке на заказ, коллекция items не загружается:
+     * стоимость не зависит от размера заказа. Дубликат ловит uk_order_products_order_product.
+     */
+    public OrderResponse addProduct(UUID orderId, @Valid OrderProductRequest req, Long expectedVersion,
+                                    boolean returnBody) {
         log.debug("Order addProduct start: orderId={}, productId={}, qty={}",
                 orderId, req.getProductId(), req.getQuantity());
 
-        if (orderProductRepo.existsByOrderIdAndProductId(orderId, req.getProductId())) {
-            throw new DuplicateProductInOrderException(req.getProductId());
-        }
-
-        Order order = orderRepo.findById(orderId)
-                .orElseThrow(() -> new NotFoundException("Order", orderId));
-
-        if (log.isDebugEnabled()) {
-            int currentItems = (order.getItems() == null) ? 0 : order.getItems().size();
-            log.debug("Order loaded: id={}, currentItems={}", order.getId(), currentItems);
-        }
-
         Product product = productRepo.findById(req.getProductId())
                 .orElseThrow(() -> new NotFoundException("Product", req.getProductId()));
         log.debug("Product loaded: id={}", product.getId());
 
+        // блокировка строки заказа сериализует параллельные изменения итогов
+        Order order = orderRepo.findLockedById(orderId)
+                .orElseThrow(() -> new NotFoundException("Order", orderId));
+        checkVersion(order, expectedVersion);
+
         OrderProduct item = OrderProduct.builder()
                 .order(order)
                 .product(product)
                 .quantity(req.getQuantity())
+                .unitPrice(product.getPrice())
                 .build();
+        try {
+            orderProductRepo.saveAndFlush(item);
+        } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateItem(ex)) {
+                throw new DuplicateProductInOrderException(req.getProductId());
+            }
+            throw ex;
+        }
 
-        order.getItems().add(item);
+        adjustTotals(order, item.getQuantity(), lineAmount(item, item.getQuantity()));
+        applySales(order, item, item.getQuantity());
+        // уже загруженную коллекцию держим в согласованном состоянии, незагруженную не трогаем
+        if (Hibernate.isInitialized(order.getItems())) {
+            order.getItems().add(item);
+        }
         orderRepo.flush();
 
         log.info("Order updated: item added: orderId={}, productId={}, qty={}",
                 orderId, req.getProductId(), req.getQuantity());
-        return getOne(orderId);
+        return respond(order, returnBody);
     }
 
     public OrderResponse changeProductQuantity(UUID orderId, UUID productId, @Min(1) int quantity) {
+        return changeProductQuantity(orderId, productId, quantity, null, true);
+    }
+
+    public OrderResponse changeProductQuantity(UUID orderId, UUID productId, @Min(1) int quantity,
+                                               Long expectedVersion, boolean returnBody) {
         log.debug("Order changeProductQuantity start: orderId={}, productId={}, newQty={}",
                 orderId, productId, quantity);
 
-        OrderProduct item = orderProductRepo.findByOrderIdAndProductId(orderId, productId)
-                .orElseThrow(() -> new NotFoundException("Order item (product)", productId));
+        Order order = fetchDetailed(orderId);
+        checkVersion(order, expectedVersion);
+        OrderProduct item = findItem(order, productId);
 
         int oldQuantity = item.getQuantity();
         if (oldQuantity == quantity) {
             log.debug("Quantity unchanged: orderId={}, productId={}, qty={}", orderId, productId, quantity);
-            return getOne(orderId);
+            return returnBody ? mapper.toResponse(order) : versionOnly(orderId);
         }
 
         item.setQuantity(quantity);
+        adjustTotals(order, quantity - oldQuantity, lineAmount(item, quantity - oldQuantity));
+        applySales(order, item, quantity - oldQuantity);
+        orderRepo.flush();
         log.info("Order item quantity updated: orderId={}, productId={}, from={}, to={}",
                 orderId, productId, oldQuantity, quantity);
-        return getOne(orderId);
+        return respond(order, returnBody);
     }
 
     public OrderResponse removeProduct(UUID orderId, UUID productId) {
+        return removeProduct(orderId, productId, null, true);
+    }
+
+    public OrderResponse removeProduct(UUID orderId, UUID productId, Long expectedVersion, boolean returnBody) {
         log.debug("Order removeProduct start: orderId={}, productId={}", orderId, productId);
 
-        int deleted = orderProductRepo.deleteByOrderIdAndProductId(orderId, productId);
-        if (deleted == 0) {
-            throw new NotFoundException("Order item (product)", productId);
-        }
+        Order order = fetchDetailed(orderId);
+        checkVersion(order, expectedVersion);
+        OrderProduct item = findItem(order, productId);
+
+        adjustTotals(order, -item.getQuantity(), lineAmount(item, -item.getQuantity()));
+        applySales(order, item, -item.getQuantity());
+        // orphanRemoval удалит строку order_products при flush
+        order.getItems().remove(item);
+        orderRepo.flush();
 
         log.info("Order updated: item removed: orderId={}, productId={}", orderId, productId);
-        return getOne(orderId);
+        return respond(order, returnBody);
     }
 
     /**
      * private helpers
      */
 
+    /**
+     * ответ из агрегата, который уже загружен и изменён в текущем persistence context;
+     * без тела ({@code Prefer: return=minimal}) маппинг пропускается, а запись в кэше сбрасывается
+     */
+    private OrderResponse respond(Order order, boolean returnBody) {
+        if (!returnBody) {
+            cache.evict(order.getId());
+            return versionOnly(order.getId());
+        }
+        OrderResponse resp = mapper.toResponse(order);
+        cache.put(order.getId(), resp);
+        return resp;
+    }
+
+    /**
+     * ответ без тела для return=minimal: версия и товары позиций, из которых строится тот же ETag,
+     * что и у полного ответа; читается в текущей транзакции одним запросом без маппинга
+     */
+    private OrderResponse versionOnly(UUID id) {
+        OrderVersion version = versionWithProducts(id);
+        return OrderResponse.builder()
+                .id(id)
+                .version(version.version())
+                .items(version.productNames().entrySet().stream()
+                        .map(e -> OrderProductResponse.builder().productId(e.getKey()).name(e.getValue()).build())
+                        .toList())
+                .build();
+    }
+
+    private boolean isDuplicateItem(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException cve
+                && OrderProduct.UK_ORDER_PRODUCT.equalsIgnoreCase(cve.getConstraintName());
+    }
+
+    /**
+     * If-Match сверяется с загруженной версией; гонку между проверкой и flush ловит сам @Version
+     */
+    private void checkVersion(Order order, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new PreconditionFailedException("Order", order.getId(), expectedVersion, order.getVersion());
+        }
+    }
+
+    private Order fetchDetailed(UUID orderId) {
+        return orderRepo.findDetailedById(orderId).orElseThrow(() -> new NotFoundException("Order", orderId));
+    }
+
+    private OrderProduct findItem(Order order, UUID productId) {
+        return order.getItems().stream()
+                .filter(i -> i.getProduct() != null && i.getProduct().getId().equals(productId))
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Order item (product)", productId));
+    }
+
+    /**
+     * читает заказ из базы и кладёт в кэш после коммита, если за время чтения его не изменили
+     */
+    private OrderResponse refresh(UUID id) {
+        long ticket = cache.ticket();
+        Order entity = orderRepo.findDetailedById(id).orElseThrow(() -> new NotFoundException("Order", id));
+
+        if (log.isDebugEnabled()) {
+            int items = (entity.getItems() == null) ? 0 : entity.getItems().size();
+            log.debug("Order loaded: id={}, itemCount={}", entity.getId(), items);
+        }
+
+        OrderResponse resp = mapper.toResponse(entity);
+        cache.putLoaded(id, resp, ticket);
+        return resp;
+    }
+
+    /**
+     * догружаем заказы с клиентом и позициями одним запросом, сохраняя порядок ids
+     */
+    private List<OrderResponse> loadDetailed(List<UUID> ids) {
+        Map<UUID, Order> byId = orderRepo.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(mapper::toResponse)
+                .toList();
+    }
+
+    /**
+     * keyset-окно (createdAt DESC, id DESC) по базовому условию
+     */
+    private CursorPage<OrderResponse> scrollWindow(Specification<Order> base, OrderCursor cursor, int limit) {
+        Specification<Order> spec = base.and(OrderSpecs.after(cursor));
+        // берём на одну строку больше, чтобы узнать о следующем окне без count-запроса
+        List<Order> window = orderRepo.findBy(spec, q -> q.sortBy(OrderCursor.SORT).limit(limit + 1).all());
+
+        boolean hasNext = window.size() > limit;
+        List<Order> rows = hasNext ? window.subList(0, limit) : window;
+        if (rows.isEmpty()) {
+            log.debug("Scroll orders: empty window");
+            return new CursorPage<>(List.of(), limit, false, null);
+        }
+
+        List<OrderResponse> content = loadDetailed(rows.stream().map(Order::getId).toList());
+        String next = hasNext ? OrderCursor.of(rows.get(rows.size() - 1)).encode() : null;
+        log.debug("Orders window mapped: returned={}, hasNext={}", content.size(), hasNext);
+
+        return new CursorPage<>(content, limit, hasNext, next);
+    }
+
+    /**
+     * items_total и total_amount поддерживаются инкрементально при каждом изменении позиций
+     */
+    private void adjustTotals(Order order, int quantityDelta, BigDecimal amountDelta) {
+        order.setItemsTotal(order.getItemsTotal() + quantityDelta);
+        order.setTotalAmount(order.getTotalAmount().add(amountDelta));
+    }
+
+    /**
+     * дельта позиции в витрине продаж; отменённые заказы в ней не учитываются, а старые заказы
+     * без даты создания пропускаются так же, как в SalesAnalyticsRepository.rebuild
+     */
+    private void applySales(Order order, OrderProduct item, int quantityDelta) {
+        if (!isSale(order.getStatus()) || order.getCreatedAt() == null) {
+            return;
+        }
+        UUID clientId = order.getClient() == null ? null : order.getClient().getId();
+        analyticsRepo.applyItem(order.getCreatedAt().toLocalDate(), clientId,
+                item.getProduct().getId(), quantityDelta, lineAmount(item, quantityDelta));
+    }
+
+    /**
+     * заказ без статуса (записан в обход приложения) считается продажей, как и в SalesAnalyticsRepository.rebuild
+     */
+    private static boolean isSale(OrderStatus status) {
+        return status == null || status.isSale();
+    }
+
+    private BigDecimal lineAmount(OrderProduct item, int quantity) {
+        return item.getUnitPrice().multiply(BigDecimal.valueOf(quantity));
+    }
+
+    private void createChunk(List<OrderRequest> requests, int from, int to,
+                             Map<UUID, BigDecimal> prices, OrderBatchResult[] results) {
+        // синтаксическая проверка каждого заказа
+        Map<Integer, OrderRequest> valid = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            String error = validate(requests.get(i));
+            if (error != null) {
+                results[i] = OrderBatchResult.rejected(i, error);
+            } else {
+                valid.put(i, requests.get(i));
+            }
+        }
+
+        // клиенты и товары чанка - по одному запросу, цены товаров переиспользуются между чанками
+        Set<UUID> clientIds = valid.values().stream().map(OrderRequest::getClientId).collect(toSet());
+        Set<UUID> existingClients = clientIds.isEmpty() ? Set.of() : clientRepo.findExistingIds(clientIds);
+
+        Set<UUID> unknownProducts = valid.values().stream()
+                .flatMap(r -> r.getProducts().stream())
+                .map(OrderProductRequest::getProductId)
+                .filter(id -> !prices.containsKey(id))
+                .collect(toSet());
+        if (!unknownProducts.isEmpty()) {
+            findProducts(unknownProducts).forEach((id, p) -> prices.put(id, p.getPrice()));
+        }
+
+        List<Order> orders = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        valid.forEach((i, req) -> {
+            if (!existingClients.contains(req.getClientId())) {
+                results[i] = OrderBatchResult.rejected(i, new NotFoundException("Client", req.getClientId()).getMessage());
+                return;
+            }
+            Optional<UUID> missing = req.getProducts().stream()
+                    .map(OrderProductRequest::getProductId)
+                    .filter(id -> !prices.containsKey(id))
+                    .findFirst();
+            if (missing.isPresent()) {
+                results[i] = OrderBatchResult.rejected(i, new NotFoundException("Product", missing.get()).getMessage());
+                return;
+            }
+            orders.add(buildBatchOrder(req, prices));
+            indexes.add(i);
+        });
+
+        orderRepo.saveAll(orders);
+        orderRepo.flush();
+        if (!orders.isEmpty()) {
+            clientRepo.adjustOrdersCount(orders.stream().map(Order::getId).toList(), 1);
+        }
+        analyticsRepo.applyOrders(orders.stream().filter(o -> o.getStatus().isSale()).map(Order::getId).toList(), 1);
+        for (int k = 0; k < orders.size(); k++) {
+            results[indexes.get(k)] = OrderBatchResult.created(indexes.get(k), orders.get(k).getId());
+        }
+        // чанк записан - отпускаем сущности, чтобы контекст не рос вместе с батчем
+        entityManager.clear();
+        log.debug("Order batch chunk saved: from={}, to={}, created={}", from, to, orders.size());
+    }
+
+    private String validate(OrderRequest req) {
+        if (req == null) {
+            return "order must not be null";
+        }
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(req);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<OrderRequest> v = violations.iterator().next();
+            return v.getPropertyPath() + " " + v.getMessage();
+        }
+        Set<UUID> unique = new HashSet<>();
+        for (OrderProductRequest r : req.getProducts()) {
+            if (!unique.add(r.getProductId())) {
+                return new DuplicateProductInOrderException(r.getProductId()).getMessage();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * заказ собирается на ссылках (getReference), без загрузки клиента и товаров
+     */
+    private Order buildBatchOrder(OrderRequest req, Map<UUID, BigDecimal> prices) {
+        Order order = Order.builder()
+                .client(clientRepo.getReferenceById(req.getClientId()))
+                .status(req.getStatus() != null ? req.getStatus() : OrderStatus.NEW)
+                .build();
+        for (OrderProductRequest r : req.getProducts()) {
+            OrderProduct item = OrderProduct.builder()
+                    .order(order)
+                    .product(productRepo.getReferenceById(r.getProductId()))
+                    .quantity(r.getQuantity())
+                    .unitPrice(prices.get(r.getProductId()))
+                    .build();
+            order.getItems().add(item);
+            adjustTotals(order, item.getQuantity(), lineAmount(item, item.getQuantity()));
+        }
+        return order;
+    }
+
     private Client fetchClient(UUID clientId) {
         return clientRepo.findById(clientId).orElseThrow(() -> new NotFoundException("Client", clientId));
     }
 
     /**
-     * грузим все товары одним запросом, заодно проверяем дубликаты productId
+     * товары берём из снимка каталога, заодно проверяем дубликаты productId;
+     * видимость пакета - для OrderServiceBenchmark (src/jmh)
      */
-    private Map<UUID, Product> fetchProducts(List<OrderProductRequest> list) {
+    Map<UUID, Product> fetchProducts(List<OrderProductRequest> list) {
 
         // дубликаты productId в самом запросе
         Set<UUID> unique = new HashSet<>();
@@ -251,8 +701,7 @@ public class OrderService {
         });
 
         // сами продукты
-        Map<UUID, Product> map = productRepo.findAllById(unique).stream()
-                .collect(toMap(Product::getId, p -> p));
+        Map<UUID, Product> map = findProducts(unique);
 
         // недостающие id
         unique.forEach(id -> {
@@ -263,13 +712,28 @@ public class OrderService {
         return map;
     }
 
-    private Set<OrderProduct> buildItems(List<OrderProductRequest> orderProductRequestsList,
-                                         Map<UUID, Product> products) {
+    /**
+     * Снимок ProductCatalog, промахи (новые товары, устаревший снимок) - одним запросом к products.
+     * Товары из снимка - detached-экземпляры: в позиции заказа они служат только ссылкой по id.
+     */
+    private Map<UUID, Product> findProducts(Set<UUID> ids) {
+        Map<UUID, Product> found = new HashMap<>(productCatalog.find(ids));
+        if (found.size() < ids.size()) {
+            Set<UUID> misses = ids.stream().filter(id -> !found.containsKey(id)).collect(toSet());
+            productRepo.findAllById(misses).forEach(p -> found.put(p.getId(), p));
+            log.debug("Product catalog misses: requested={}, fromDb={}", ids.size(), misses.size());
+        }
+        return found;
+    }
+
+    Set<OrderProduct> buildItems(List<OrderProductRequest> orderProductRequestsList,
+                                 Map<UUID, Product> products) {
 
         return orderProductRequestsList.stream()
                 .map(r -> OrderProduct.builder()
                         .product(products.get(r.getProductId()))
                         .quantity(r.getQuantity())
+                        .unitPrice(products.get(r.getProductId()).getPrice())
                         .build())
                 .collect(Collectors.toSet());
     }
@@ -0,0 +1,194 @@
+package org.example.web.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.web.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Снимок каталога товаров (id -> название, цена, версия) в памяти процесса для создания заказов без похода в products.
+ * Снимок неизменяемый и подменяется целиком: чтение без блокировок, запись копирует карту (copy-on-write),
+ * что дёшево для каталога, который меняется несколько раз в час.
+ * <p>
+ * Изменения через ProductService применяются после коммита. Записи в обход этого процесса (другие инстансы, SQL)
+ * подхватываются полной перезагрузкой: снимок старше max-staleness не используется, пока не перечитан.
+ * Промах или устаревший снимок - не ошибка: вызывающий код дочитывает недостающее из базы.
+ */
+@Slf4j
+@Component
+public class ProductCatalog {
+
+    private record Entry(UUID id, String name, BigDecimal price, long version) {
+    }
+
+    private record Snapshot(Map<UUID, Entry> products, Instant loadedAt) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final Duration maxStaleness;
+    private final Clock clock;
+
+    // null до первой загрузки
+    private volatile Snapshot snapshot;
+
+    // сериализует перезагрузку и точечные изменения
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Autowired
+    public ProductCatalog(JdbcTemplate jdbc,
+                          @Value("${app.cache.products.max-staleness:5m}") Duration maxStaleness) {
+        this(jdbc, maxStaleness, Clock.systemUTC());
+    }
+
+    ProductCatalog(JdbcTemplate jdbc, Duration maxStaleness, Clock clock) {
+        this.jdbc = jdbc;
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+    }
+
+    /**
+     * Товары из снимка по id - новые detached-экземпляры Product с id, названием, ценой и версией,
+     * годные как ссылка для позиции заказа. Отсутствующих в снимке id в результате нет;
+     * если снимок не загружен или устарел, результат пустой.
+     */
+    public Map<UUID, Product> find(Collection<UUID> ids) {
+        Snapshot current = fresh();
+        if (current == null) {
+            return Map.of();
+        }
+        Map<UUID, Product> found = new HashMap<>();
+        for (UUID id : ids) {
+            Entry e = current.products().get(id);
+            if (e != null) {
+                found.put(id, Product.builder().id(e.id()).name(e.name()).price(e.price()).version(e.version()).build());
+            }
+        }
+        return found;
+    }
+
+    public void put(Product product) {
+        Entry entry = new Entry(product.getId(), product.getName(), product.getPrice(), product.getVersion());
+        afterCommit(() -> apply(entry.id(), entry));
+    }
+
+    public void remove(UUID id) {
+        afterCommit(() -> apply(id, null));
+    }
+
+    /**
+     * Перечитывает каталог после коммита - для массовых изменений вроде импорта.
+     */
+    public void reloadAfterCommit() {
+        afterCommit(this::reload);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        writeLock.lock();
+        try {
+            load();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Актуальный снимок или null. Устаревший снимок перечитывает один поток,
+     * остальные в это время получают null и идут в базу, а не ждут.
+     */
+    private Snapshot fresh() {
+        Snapshot current = snapshot;
+        if (current != null && !isStale(current)) {
+            return current;
+        }
+        if (!writeLock.tryLock()) {
+            return null;
+        }
+        try {
+            current = snapshot;
+            return current != null && !isStale(current) ? current : load();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean isStale(Snapshot s) {
+        return s.loadedAt().plus(maxStaleness).isBefore(clock.instant());
+    }
+
+    private Snapshot load() {
+        long t0 = System.currentTimeMillis();
+        Instant loadedAt = clock.instant();
+        List<Entry> rows = jdbc.query("SELECT id, name, price, version FROM products",
+                (rs, i) -> new Entry(rs.getObject("id", UUID.class), rs.getString("name"),
+                        rs.getBigDecimal("price"), rs.getLong("version")));
+
+        Map<UUID, Entry> products = new HashMap<>(rows.size() * 4 / 3 + 1);
+        rows.forEach(e -> products.put(e.id(), e));
+        Snapshot loaded = new Snapshot(Collections.unmodifiableMap(products), loadedAt);
+        snapshot = loaded;
+        log.info("Product catalog loaded: size={}, durationMs={}", products.size(), System.currentTimeMillis() - t0);
+        return loaded;
+    }
+
+    /**
+     * entry == null - удаление. Запись с версией не новее текущей пропускается:
+     * поздний afterCommit не затрёт то, что уже прочитала перезагрузка.
+     */
+    private void apply(UUID id, Entry entry) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            Entry previous = current.products().get(id);
+            if (entry != null && previous != null && previous.version() >= entry.version()) {
+                return;
+            }
+            if (entry == null && previous == null) {
+                return;
+            }
+            Map<UUID, Entry> next = new HashMap<>(current.products());
+            if (entry == null) {
+                next.remove(id);
+            } else {
+                next.put(id, entry);
+            }
+            snapshot = new Snapshot(Collections.unmodifiableMap(next), current.loadedAt());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
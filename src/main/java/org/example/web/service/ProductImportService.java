@@ -0,0 +1,91 @@
+package org.example.web.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.web.dto.product.ProductImportFormat;
+import org.example.web.dto.product.ProductImportResponse;
+import org.example.web.repository.ProductImportRepository;
+import org.example.web.repository.ProductImportRepository.MergeResult;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Массовая загрузка каталога: вместо existsByNameIgnoreCase + INSERT на каждый товар
+ * файл целиком уходит в COPY и сливается в products одним запросом.
+ */
+@Slf4j
+@Service
+@Timed(value = "app.service", histogram = true)
+@RequiredArgsConstructor
+@Transactional
+public class ProductImportService {
+
+    private final ProductImportRepository importRepo;
+    private final ObjectMapper objectMapper;
+    private final OrderCache orderCache;
+    private final ProductNameIndex nameIndex;
+    private final ProductCatalog catalog;
+
+    public ProductImportResponse importCatalog(ProductImportFormat format, InputStream body) {
+        log.debug("Product import start: format={}", format);
+        long t0 = System.currentTimeMillis();
+
+        importRepo.createStaging();
+        long copied = format == ProductImportFormat.CSV
+                ? importRepo.copyCsv(body)
+                : importRepo.copyRows(ndjsonRows(body));
+        long t1 = System.currentTimeMillis();
+
+        MergeResult merged = importRepo.merge();
+        if (merged.updated() > 0) {
+            // название товара входит в закэшированные OrderResponse, переименования merge не различает
+            orderCache.evictAll();
+        }
+        if (merged.inserted() > 0 || merged.updated() > 0) {
+            nameIndex.reloadAfterCommit();
+            catalog.reloadAfterCommit();
+        }
+
+        log.info("Product import done: format={}, rows={}, inserted={}, updated={}, unchanged={}, superseded={}, rejected={}, copyMs={}, mergeMs={}",
+                format, copied, merged.inserted(), merged.updated(), merged.unchanged(), merged.superseded(),
+                merged.rejected(), t1 - t0, System.currentTimeMillis() - t1);
+        return new ProductImportResponse(merged.inserted(), merged.updated(), merged.unchanged(),
+                merged.superseded(), merged.rejected());
+    }
+
+    /**
+     * Строки NDJSON разбираются лениво по мере записи в COPY. Неразбираемая строка загружается
+     * пустой и отбрасывается при слиянии вместе с остальными невалидными.
+     */
+    private Iterator<String[]> ndjsonRows(InputStream body) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(this::parseRow)
+                .iterator();
+    }
+
+    private String[] parseRow(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            return new String[]{text(node, "name"), text(node, "description"), text(node, "price")};
+        } catch (JsonProcessingException ex) {
+            return new String[3];
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() || value.isContainerNode() ? null : value.asText();
+    }
+}
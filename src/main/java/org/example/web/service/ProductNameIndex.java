@@ -0,0 +1,162 @@
+package org.example.web.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.web.dto.product.ProductSuggestion;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Индекс названий товаров в памяти для автодополнения: отсортированный по lower(name) массив,
+ * поиск префикса - бинарный поиск и чтение подряд идущих записей.
+ * Чтение без блокировок по volatile-снимку; запись копирует массив под монитором (copy-on-write),
+ * поэтому рассчитан на каталог, который читают на каждое нажатие клавиши, а меняют редко.
+ * Изменения из транзакции применяются только после коммита.
+ */
+@Slf4j
+@Component
+public class ProductNameIndex {
+
+    static final int MAX_LIMIT = 50;
+
+    private record Entry(String key, UUID id, String name) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key).thenComparing(Entry::id);
+
+    private final JdbcTemplate jdbc;
+
+    private volatile Entry[] entries = new Entry[0];
+
+    // id -> запись в entries; меняется только под this
+    private final Map<UUID, Entry> byId = new HashMap<>();
+
+    public ProductNameIndex(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * До limit товаров, чьё название начинается с prefix без учёта регистра, по алфавиту.
+     */
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        String key = key(prefix.strip());
+        int max = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        Entry[] snapshot = entries;
+
+        List<ProductSuggestion> result = new ArrayList<>(Math.min(max, snapshot.length));
+        for (int i = lowerBound(snapshot, key); i < snapshot.length && result.size() < max; i++) {
+            if (!snapshot[i].key().startsWith(key)) {
+                break;
+            }
+            result.add(new ProductSuggestion(snapshot[i].id(), snapshot[i].name()));
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public void put(UUID id, String name) {
+        afterCommit(() -> apply(id, name));
+    }
+
+    public void remove(UUID id) {
+        afterCommit(() -> apply(id, null));
+    }
+
+    /**
+     * Перечитывает весь каталог после коммита - для массовых изменений вроде импорта.
+     */
+    public void reloadAfterCommit() {
+        afterCommit(this::reload);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        long t0 = System.currentTimeMillis();
+        List<Entry> loaded = jdbc.query("SELECT id, name FROM products",
+                (rs, i) -> entry(rs.getObject("id", UUID.class), rs.getString("name")));
+
+        Entry[] sorted = loaded.toArray(Entry[]::new);
+        Arrays.sort(sorted, ORDER);
+        byId.clear();
+        for (Entry e : sorted) {
+            byId.put(e.id(), e);
+        }
+        entries = sorted;
+        log.info("Product name index loaded: size={}, durationMs={}", sorted.length, System.currentTimeMillis() - t0);
+    }
+
+    /**
+     * name == null - удаление. Операция идемпотентна, поэтому повтор после reload ничего не портит.
+     */
+    private synchronized void apply(UUID id, String name) {
+        Entry previous = byId.get(id);
+        if (previous != null && name != null && previous.name().equals(name)) {
+            return;
+        }
+        List<Entry> next = new ArrayList<>(Arrays.asList(entries));
+        if (previous != null) {
+            next.remove(Arrays.binarySearch(entries, previous, ORDER));
+            byId.remove(id);
+        }
+        if (name != null) {
+            Entry added = entry(id, name);
+            next.add(-Collections.binarySearch(next, added, ORDER) - 1, added);
+            byId.put(id, added);
+        }
+        entries = next.toArray(Entry[]::new);
+    }
+
+    private static int lowerBound(Entry[] snapshot, String key) {
+        int lo = 0;
+        int hi = snapshot.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (snapshot[mid].key().compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static Entry entry(UUID id, String name) {
+        return new Entry(key(name), id, name);
+    }
+
+    private static String key(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,37 +1,61 @@
 package org.example.web.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.web.dto.CountMode;
+import org.example.web.dto.CursorPage;
 import org.example.web.dto.product.ProductFilter;
 import org.example.web.dto.product.ProductRequest;
 import org.example.web.dto.product.ProductResponse;
+import org.example.web.dto.product.ProductSuggestion;
 import org.example.web.exception.DuplicateProductNameException;
 import org.example.web.exception.NotFoundException;
+import org.example.web.exception.PreconditionFailedException;
 import org.example.web.exception.ProductInUseException;
 import org.example.web.mappers.ProductMapper;
 import org.example.web.model.Client;
 import org.example.web.model.Product;
 import org.example.web.repository.OrderProductRepository;
 import org.example.web.repository.ProductRepository;
+import org.example.web.repository.ProductSearchRepository;
+import org.example.web.repository.RowEstimateRepository;
+import org.example.web.util.ProductSearchCursor;
+import org.example.web.util.Slices;
 import org.example.web.util.SpecBuilder;
-import org.springframework.data.domain.Page;
+import org.example.web.util.SqlWhere;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 @Transactional
 public class ProductService {
 
+    private static final int MAX_SEARCH_SIZE = 100;
+    private static final int MAX_SEARCH_TERMS = 10;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     private final ProductRepository repo;
     private final ProductMapper mapper;
     private final OrderProductRepository orderProductRepo;
+    private final OrderCache orderCache;
+    private final ProductSearchRepository searchRepo;
+    private final ProductNameIndex nameIndex;
+    private final ProductCatalog catalog;
+    private final RowEstimateRepository rowEstimates;
 
     public ProductResponse create(ProductRequest req) {
         log.debug("Product create start: name={}", req.getName());
@@ -41,6 +65,8 @@ public class ProductService {
         Product entity = mapper.toEntity(req);
 
         Product saved = repo.save(entity);
+        nameIndex.put(saved.getId(), saved.getName());
+        catalog.put(saved);
         log.info("Product created: id={}", saved.getId());
 
         return mapper.toResponse(saved);
@@ -53,45 +79,141 @@ public class ProductService {
         return mapper.toResponse(entity);
     }
 
+    /**
+     * Текущая версия товара без загрузки сущности - для сравнения с If-None-Match.
+     */
+    public long version(UUID id) {
+        return repo.findVersionById(id).orElseThrow(() -> new NotFoundException("Product", id));
+    }
+
     public ProductResponse update(UUID id, ProductRequest req) {
+        return update(id, req, null);
+    }
+
+    public ProductResponse update(UUID id, ProductRequest req, Long expectedVersion) {
         log.debug("Product update start: id={}, newName={}, newPrice={}",
                 id, req.getName(), req.getPrice());
         Product entity = repo.findById(id).orElseThrow(() -> new NotFoundException("Product", id));
+        checkVersion(entity, expectedVersion);
         if (!entity.getName().equalsIgnoreCase(req.getName())
                 && repo.existsByNameIgnoreCaseAndIdNot(req.getName(), id)) {
             throw new DuplicateProductNameException(req.getName());
         }
+        String oldName = entity.getName();
         mapper.updateEntity(req, entity);
+        // цена в заказах зафиксирована в unit_price, а название берётся из товара
+        if (!oldName.equals(entity.getName())) {
+            orderCache.evictAll();
+        }
+        nameIndex.put(id, entity.getName());
+        // flush, чтобы в ответ и в каталог попала уже увеличенная версия
+        repo.flush();
+        catalog.put(entity);
         log.info("Product updated: id={}, newName={}, newPrice={}",
                 id, entity.getName(), entity.getPrice());
         return mapper.toResponse(entity);
     }
 
     public void delete(UUID id) {
+        delete(id, null);
+    }
+
+    public void delete(UUID id, Long expectedVersion) {
         log.debug("Product delete start: id={}", id);
 
         Product entity = repo.findById(id).orElseThrow(()-> new NotFoundException("Product",    id));
+        checkVersion(entity, expectedVersion);
 
         repo.delete(entity);
+        nameIndex.remove(id);
+        catalog.remove(id);
         log.info("Product deleted: id={}", id);
     }
 
-    public Page<ProductResponse> list(ProductFilter filter, Pageable pageable) {
-        log.debug("Find products start: filter={}", filter);
+    public Slice<ProductResponse> list(ProductFilter filter, Pageable pageable) {
+        return list(filter, pageable, CountMode.EXACT);
+    }
+
+    public Slice<ProductResponse> list(ProductFilter filter, Pageable pageable, CountMode count) {
+        log.debug("Find products start: filter={}, count={}", filter, count);
         Specification<Product> spec = Specification
                 .where(SpecBuilder.<Product>like("name", filter.name()))
                 .and(SpecBuilder.between("price",
                         filter.priceMin(),
                         filter.priceMax()));
+        if (SpecBuilder.sortsByRelevance(pageable)) {
+            spec = spec.and(SpecBuilder.rankBySimilarity(SpecBuilder.terms("name", filter.name())));
+            pageable = SpecBuilder.unsorted(pageable);
+        }
 
-        Page<Product> page = repo.findAll(spec, pageable);
-        log.debug("Products page loaded: number={}, returned={}, total={}",
-                page.getNumber(), page.getNumberOfElements(), page.getTotalElements());
-
-        Page<ProductResponse> resp = page.map(mapper::toResponse);
+        Slice<Product> page = switch (count) {
+            case EXACT -> repo.findAll(spec, pageable);
+            case NONE -> repo.findSlice(spec, pageable);
+            case ESTIMATE -> Slices.estimated(repo.findSlice(spec, pageable), () -> {
+                SqlWhere where = new SqlWhere()
+                        .like("name", "name", filter.name())
+                        .between("price", filter.priceMin(), filter.priceMax());
+                return rowEstimates.estimate("products", where.sql(), where.params());
+            });
+        };
+        log.debug("Products page loaded: number={}, returned={}, hasNext={}",
+                page.getNumber(), page.getNumberOfElements(), page.hasNext());
+
+        Slice<ProductResponse> resp = page.map(mapper::toResponse);
         log.debug("Products mapped: {}", resp.getNumberOfElements());
         return resp;
     }
 
+    /**
+     * Подсказки по началу названия из ProductNameIndex, без обращения к базе.
+     */
+    public List<ProductSuggestion> autocomplete(String prefix, int limit) {
+        return nameIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * Полнотекстовый поиск по названию и описанию. Каждое слово запроса ищется как префикс,
+     * слова объединяются через AND; спецсимволы tsquery из ввода отбрасываются.
+     */
+    public CursorPage<ProductResponse> search(String q, String after, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_SEARCH_SIZE);
+        ProductSearchCursor cursor = (after == null || after.isBlank()) ? null : ProductSearchCursor.decode(after);
+        String tsquery = toTsQuery(q);
+        log.debug("Product search start: q={}, tsquery={}, after={}, size={}", q, tsquery, cursor, limit);
+        if (tsquery.isEmpty()) {
+            return new CursorPage<>(List.of(), limit, false, null);
+        }
+
+        // на одну строку больше - признак следующего окна без count-запроса
+        List<ProductSearchRepository.Hit> window = searchRepo.search(tsquery, cursor, limit + 1);
+        boolean hasNext = window.size() > limit;
+        List<ProductSearchRepository.Hit> rows = hasNext ? window.subList(0, limit) : window;
+
+        String next = null;
+        if (hasNext) {
+            ProductSearchRepository.Hit last = rows.get(rows.size() - 1);
+            next = new ProductSearchCursor(last.rank(), last.product().getId()).encode();
+        }
+        log.debug("Product search window: returned={}, hasNext={}", rows.size(), hasNext);
+        return new CursorPage<>(rows.stream().map(ProductSearchRepository.Hit::product).toList(), limit, hasNext, next);
+    }
+
+    static String toTsQuery(String q) {
+        if (q == null) {
+            return "";
+        }
+        return Arrays.stream(NON_WORD.split(q.toLowerCase()))
+                .filter(t -> !t.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(t -> t + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private void checkVersion(Product entity, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(entity.getVersion())) {
+            throw new PreconditionFailedException("Product", entity.getId(), expectedVersion, entity.getVersion());
+        }
+    }
+
 
 }
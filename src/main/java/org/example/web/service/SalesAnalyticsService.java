@@ -0,0 +1,71 @@
+package org.example.web.service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.web.dto.analytics.ClientDailySales;
+import org.example.web.dto.analytics.DailySales;
+import org.example.web.dto.analytics.ProductSales;
+import org.example.web.exception.InvalidRangeException;
+import org.example.web.repository.SalesAnalyticsRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Чтение витрины продаж. Запись в неё делает OrderService вместе с изменением заказов.
+ */
+@Slf4j
+@Service
+@Timed(value = "app.service", histogram = true)
+@RequiredArgsConstructor
+@Transactional
+public class SalesAnalyticsService {
+
+    private static final int MAX_RANGE_DAYS = 3660;
+    private static final int MAX_TOP = 100;
+
+    private final SalesAnalyticsRepository repo;
+
+    public List<DailySales> productDaily(UUID productId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        log.debug("Product daily sales: productId={}, from={}, to={}", productId, from, to);
+        return repo.productDaily(productId, from, to);
+    }
+
+    public List<ClientDailySales> clientDaily(UUID clientId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        log.debug("Client daily sales: clientId={}, from={}, to={}", clientId, from, to);
+        return repo.clientDaily(clientId, from, to);
+    }
+
+    public List<ProductSales> topProducts(LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        int top = Math.min(Math.max(limit, 1), MAX_TOP);
+        log.debug("Top products: from={}, to={}, limit={}", from, to, top);
+        return repo.topProducts(from, to, top);
+    }
+
+    /**
+     * Полный пересчёт витрины по orders / order_products - после ручных правок в базе или сбоя.
+     */
+    public void rebuild() {
+        log.info("Sales analytics rebuild start");
+        long t0 = System.currentTimeMillis();
+
+        SalesAnalyticsRepository.Rebuild result = repo.rebuild();
+
+        log.info("Sales analytics rebuilt: productDays={}, clientDays={}, durationMs={}",
+                result.productDays(), result.clientDays(), System.currentTimeMillis() - t0);
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new InvalidRangeException(from, to, MAX_RANGE_DAYS);
+        }
+    }
+}
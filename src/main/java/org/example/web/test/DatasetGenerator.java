@@ -0,0 +1,291 @@
+package org.example.web.test;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.web.service.SalesAnalyticsService;
+import org.example.web.util.UuidV7;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Синтетический датасет продового масштаба для планов запросов и бенчмарков:
+ * товары с популярностью по Zipf, клиенты с Zipf-распределением заказов, размер заказа с тяжёлым хвостом,
+ * created_at с ростом потока к концу периода и суточным профилем. Строки идут в базу через COPY,
+ * заказы - в порядке времени, как при реальной вставке (корреляция created_at и UUIDv7 с физическим порядком).
+ * Запуск: {@code SPRING_PROFILES_ACTIVE=datagen ./gradlew bootRun --args='--app.datagen.orders=10000000'}
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+@EnableConfigurationProperties(DatasetGeneratorProperties.class)
+public class DatasetGenerator implements CommandLineRunner {
+
+    private static final int CHUNK = 50_000;
+    private static final double CANCEL_RATE = 0.05;
+
+    private static final List<String> FIRST_NAMES = List.of("Anna", "Ivan", "Olga", "Sergey", "Maria", "Dmitry",
+            "Elena", "Alexey", "Natalia", "Pavel", "Irina", "Andrey", "Tatiana", "Nikolay", "Ekaterina", "Mikhail");
+    private static final List<String> LAST_NAMES = List.of("Ivanov", "Petrov", "Smirnov", "Kuznetsov", "Popov",
+            "Sokolov", "Lebedev", "Kozlov", "Novikov", "Morozov", "Volkov", "Solovyov", "Vasiliev", "Zaitsev");
+    private static final List<String> ADJECTIVES = List.of("Red", "Compact", "Wooden", "Steel", "Silent", "Smart",
+            "Classic", "Portable", "Heavy", "Bright", "Wireless", "Organic", "Vintage", "Foldable", "Premium");
+    private static final List<String> NOUNS = List.of("Lamp", "Chair", "Kettle", "Backpack", "Keyboard", "Blender",
+            "Monitor", "Notebook", "Speaker", "Jacket", "Mug", "Drill", "Tent", "Pillow", "Charger", "Scarf");
+
+    /**
+     * доля заказов по часам суток (UTC): ночью почти пусто, пик вечером
+     */
+    private static final double[] HOURLY = {1, 0.6, 0.4, 0.3, 0.3, 0.5, 1, 2, 3.5, 4.5, 5, 5.5,
+            6, 6, 5.5, 5.5, 6, 6.5, 7.5, 8.5, 8, 6, 4, 2};
+
+    private final JdbcTemplate jdbc;
+    private final SalesAnalyticsService analytics;
+    private final DatasetGeneratorProperties props;
+
+    @Override
+    public void run(String... args) {
+        log.info("Datagen start: {}", props);
+        long t0 = System.currentTimeMillis();
+        prepare();
+
+        Random random = new Random(props.seed());
+        long endMillis = props.end().atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        long startMillis = endMillis - props.days() * 86_400_000L;
+
+        Catalog catalog = generateProducts(random, startMillis);
+        UUID[] clients = generateClients(random, startMillis, endMillis);
+        generateOrders(random, catalog, clients, startMillis);
+
+        log.info("Datagen: recomputing orders_count and sales analytics");
+        jdbc.update("""
+                UPDATE clients c
+                SET    orders_count = t.cnt
+                FROM  (SELECT client_id, count(*) AS cnt FROM orders GROUP BY client_id) t
+                WHERE  t.client_id = c.id
+                """);
+        analytics.rebuild();
+        jdbc.execute("ANALYZE");
+        log.info("Datagen done: clients={}, products={}, orders={}, durationSec={}",
+                props.clients(), props.products(), props.orders(), (System.currentTimeMillis() - t0) / 1000);
+    }
+
+    private void prepare() {
+        Long existing = jdbc.queryForObject("SELECT count(*) FROM (SELECT 1 FROM orders LIMIT 1) o", Long.class);
+        if (!props.truncate() && existing != null && existing > 0) {
+            throw new IllegalStateException("Database already has orders; set app.datagen.truncate=true to replace them");
+        }
+        jdbc.execute("TRUNCATE order_products, orders, products, clients, sales_daily_product, sales_daily_client CASCADE");
+    }
+
+    /**
+     * Товары и их цены в копейках; ранг популярности по Zipf переставлен по каталогу,
+     * чтобы хиты не были подряд идущими (и самыми старыми) строками.
+     */
+    private record Catalog(UUID[] ids, long[] priceCents, ZipfSampler popularity) {
+        int pick(Random random) {
+            return scatter(popularity.sample(random) - 1, ids.length);
+        }
+    }
+
+    private Catalog generateProducts(Random random, long startMillis) {
+        int n = props.products();
+        UUID[] ids = new UUID[n];
+        long[] prices = new long[n];
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            ids[i] = UuidV7.at(startMillis + i, random);
+            // логнормальная цена с медианой 20.00
+            prices[i] = Math.max(1, Math.round(Math.exp(Math.log(2000) + random.nextGaussian())));
+            String name = pick(random, ADJECTIVES) + " " + pick(random, NOUNS) + " " + i;
+            rows.append(ids[i]).append('\t').append(name).append('\t').append("Synthetic ").append(name.toLowerCase())
+                    .append('\t').append(money(prices[i])).append("\t0\n");
+            if ((i + 1) % CHUNK == 0) {
+                copy("COPY products (id, name, description, price, version) FROM STDIN", rows);
+            }
+        }
+        copy("COPY products (id, name, description, price, version) FROM STDIN", rows);
+        log.info("Datagen products: {}", n);
+        return new Catalog(ids, prices, new ZipfSampler(n, props.productSkew()));
+    }
+
+    /**
+     * Клиенты регистрируются равномерно по периоду, id - UUIDv7 от момента регистрации.
+     */
+    private UUID[] generateClients(Random random, long startMillis, long endMillis) {
+        int n = props.clients();
+        UUID[] ids = new UUID[n];
+        long step = Math.max(1, (endMillis - startMillis) / n);
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            ids[i] = UuidV7.at(startMillis + i * step, random);
+            rows.append(ids[i]).append('\t').append(pick(random, FIRST_NAMES)).append('\t').append(pick(random, LAST_NAMES))
+                    .append("\tuser").append(i).append("@example.com\t+7").append(9_000_000_000L + i).append("\t0\n");
+            if ((i + 1) % CHUNK == 0) {
+                copy("COPY clients (id, first_name, last_name, email, phone, orders_count) FROM STDIN", rows);
+                log.info("Datagen clients: {}/{}", i + 1, n);
+            }
+        }
+        copy("COPY clients (id, first_name, last_name, email, phone, orders_count) FROM STDIN", rows);
+        return ids;
+    }
+
+    /**
+     * Заказы пачками: COPY заказов, затем COPY их позиций (два COPY на одном соединении не чередуются).
+     */
+    private void generateOrders(Random random, Catalog catalog, UUID[] clients, long startMillis) {
+        int n = props.orders();
+        ZipfSampler buyers = new ZipfSampler(clients.length, props.clientSkew());
+        StringBuilder orders = new StringBuilder();
+        StringBuilder items = new StringBuilder();
+        int[] lines = new int[props.maxItemsPerOrder()];
+
+        for (int i = 0; i < n; i++) {
+            long createdAt = startMillis + (long) (orderTime((i + random.nextDouble()) / n) * props.days() * 86_400_000L);
+            UUID orderId = UuidV7.at(createdAt, random);
+            UUID client = clients[scatter(buyers.sample(random) - 1, clients.length)];
+
+            int count = distinctProducts(random, catalog, lines);
+            long itemsTotal = 0;
+            long totalCents = 0;
+            for (int l = 0; l < count; l++) {
+                int product = lines[l];
+                int quantity = random.nextDouble() < 0.8 ? 1 : 2 + random.nextInt(4);
+                itemsTotal += quantity;
+                totalCents += quantity * catalog.priceCents()[product];
+                items.append(UuidV7.at(createdAt, random)).append('\t').append(orderId).append('\t')
+                        .append(catalog.ids()[product]).append('\t').append(quantity).append('\t')
+                        .append(money(catalog.priceCents()[product])).append('\n');
+            }
+            orders.append(orderId).append('\t').append(timestamp(createdAt)).append('\t')
+                    .append(status(random, createdAt, startMillis)).append('\t').append(client).append('\t')
+                    .append(itemsTotal).append('\t').append(money(totalCents)).append("\t0\n");
+
+            if ((i + 1) % CHUNK == 0) {
+                flushOrders(orders, items);
+                log.info("Datagen orders: {}/{}", i + 1, n);
+            }
+        }
+        flushOrders(orders, items);
+    }
+
+    private void flushOrders(StringBuilder orders, StringBuilder items) {
+        copy("COPY orders (id, created_at, status, client_id, items_total, total_amount, version) FROM STDIN", orders);
+        copy("COPY order_products (id, order_id, product_id, quantity, unit_price) FROM STDIN", items);
+    }
+
+    /**
+     * Число позиций по Парето (1 - больше половины заказов, редкие заказы на десятки позиций),
+     * товары по популярности без повторов внутри заказа. Возвращает, сколько индексов записано в lines.
+     */
+    private int distinctProducts(Random random, Catalog catalog, int[] lines) {
+        double u = random.nextDouble();
+        int wanted = (int) Math.min(lines.length, Math.floor(Math.pow(1 - u, -1 / props.orderSizeAlpha())));
+        int count = 0;
+        // у очень крупного заказа хвост каталога может не добрать - тогда позиций меньше
+        for (int attempt = 0; count < wanted && attempt < wanted * 20; attempt++) {
+            int product = catalog.pick(random);
+            boolean duplicate = false;
+            for (int l = 0; l < count && !duplicate; l++) {
+                duplicate = lines[l] == product;
+            }
+            if (!duplicate) {
+                lines[count++] = product;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Доля периода (0..1) для квантиля p: плотность заказов растёт линейно в (1 + growth) раз,
+     * внутри дня время раскладывается по HOURLY. Функция монотонна, поэтому заказы идут по времени.
+     */
+    private double orderTime(double p) {
+        double g = props.growth();
+        double x = g == 0 ? p : (-1 + Math.sqrt(1 + 2 * g * p * (1 + g / 2))) / g;
+        double days = x * props.days();
+        double day = Math.floor(days);
+        return (day + dayFraction(days - day)) / props.days();
+    }
+
+    /**
+     * Обратная функция распределения по часам суток: равномерная доля дня -> доля дня по HOURLY.
+     */
+    private static double dayFraction(double p) {
+        double total = 0;
+        for (double w : HOURLY) {
+            total += w;
+        }
+        double target = p * total;
+        for (int h = 0; h < HOURLY.length; h++) {
+            if (target < HOURLY[h]) {
+                return (h + target / HOURLY[h]) / 24;
+            }
+            target -= HOURLY[h];
+        }
+        return 1 - 1e-9;
+    }
+
+    /**
+     * Старые заказы выполнены, свежие ещё в работе; небольшая доля отменена в любой момент.
+     */
+    private String status(Random random, long createdAt, long startMillis) {
+        if (random.nextDouble() < CANCEL_RATE) {
+            return "CANCELED";
+        }
+        long ageDays = (startMillis + props.days() * 86_400_000L - createdAt) / 86_400_000L;
+        if (ageDays < 2) {
+            return "NEW";
+        }
+        return ageDays < 7 ? "PROCESSING" : "COMPLETED";
+    }
+
+    private void copy(String sql, StringBuilder rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbc.execute((ConnectionCallback<Long>) con -> {
+            CopyManager copy = con.unwrap(PGConnection.class).getCopyAPI();
+            try {
+                return copy.copyIn(sql, new StringReader(rows.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY failed: " + sql, e);
+            }
+        });
+        rows.setLength(0);
+    }
+
+    /**
+     * Псевдослучайная перестановка рангов 0..n-1: шаг - простое число больше любого n, значит взаимно простое с ним.
+     */
+    private static int scatter(int rank, int n) {
+        return (int) ((rank * 2_147_483_647L) % n);
+    }
+
+    private static String pick(Random random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String money(long cents) {
+        return cents / 100 + "." + (cents % 100 < 10 ? "0" : "") + cents % 100;
+    }
+
+    private static LocalDateTime timestamp(long millis) {
+        return LocalDateTime.ofEpochSecond(millis / 1000, (int) (millis % 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
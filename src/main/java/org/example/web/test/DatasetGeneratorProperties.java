@@ -0,0 +1,36 @@
+package org.example.web.test;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Размер и форма синтетического датасета (профиль datagen). Один seed и одна дата end дают одинаковые данные.
+ *
+ * @param productSkew    показатель Zipf популярности товаров: чем больше, тем сильнее доминирует голова каталога
+ * @param clientSkew     показатель Zipf распределения заказов по клиентам
+ * @param orderSizeAlpha хвост Парето числа позиций в заказе: P(позиций >= k) = k^-alpha
+ * @param growth         во сколько раз поток заказов в конце периода выше, чем в начале (минус единица)
+ * @param truncate       очистить таблицы перед генерацией; без него генератор не пишет в непустую базу
+ */
+@ConfigurationProperties("app.datagen")
+public record DatasetGeneratorProperties(@DefaultValue("42") long seed,
+                                         @DefaultValue("1000000") int clients,
+                                         @DefaultValue("50000") int products,
+                                         @DefaultValue("5000000") int orders,
+                                         @DefaultValue("730") int days,
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+                                         @DefaultValue("1.1") double productSkew,
+                                         @DefaultValue("0.8") double clientSkew,
+                                         @DefaultValue("1.3") double orderSizeAlpha,
+                                         @DefaultValue("50") int maxItemsPerOrder,
+                                         @DefaultValue("3.0") double growth,
+                                         @DefaultValue("false") boolean truncate) {
+
+    public DatasetGeneratorProperties {
+        end = end == null ? LocalDate.now() : end;
+        maxItemsPerOrder = Math.min(maxItemsPerOrder, products);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.web.test;
+
+import java.util.Random;
+
+/**
+ * Ранги 1..n с вероятностью ~ 1/k^s без таблицы на n элементов - метод rejection-inversion
+ * (Hörmann, Derflinger, 1996). Памяти O(1), поэтому годится и для миллионов клиентов.
+ */
+final class ZipfSampler {
+
+    private final int n;
+    private final double s;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double threshold;
+
+    ZipfSampler(int n, double s) {
+        if (n < 1 || s <= 0) {
+            throw new IllegalArgumentException("Zipf needs n >= 1 and s > 0: n=" + n + ", s=" + s);
+        }
+        this.n = n;
+        this.s = s;
+        this.hIntegralX1 = hIntegral(1.5) - 1d;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.threshold = 2d - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * Ранг от 1 (самый частый) до n.
+     */
+    int sample(Random random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) Math.min(n, Math.max(1, Math.round(x)));
+            if (k - x <= threshold || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1d - s) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-s * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1d, x * (1d - s));
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    /**
+     * log(1+x)/x, устойчиво около нуля (s близко к 1)
+     */
+    private static double log1pOverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1 / 3d - 0.25 * x));
+    }
+
+    /**
+     * (exp(x)-1)/x, устойчиво около нуля
+     */
+    private static double expm1OverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3d * (1 + 0.25 * x));
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.web.util;
+
+import org.example.web.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Кодирует значения ключа keyset-пагинации в непрозрачный url-safe токен и обратно.
+ */
+public final class CursorCodec {
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... parts) {
+        byte[] raw = String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static String[] decode(String token, int expectedParts) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(token);
+        }
+        if (parts.length != expectedParts) {
+            throw new InvalidCursorException(token);
+        }
+        return parts;
+    }
+}
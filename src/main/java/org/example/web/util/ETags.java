@@ -0,0 +1,76 @@
+package org.example.web.util;
+
+import org.example.web.dto.order.OrderResponse;
+import org.example.web.dto.order.OrderVersion;
+import org.example.web.dto.orderProduct.OrderProductResponse;
+import org.example.web.exception.PreconditionFailedException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Сильные ETag из версии сущности (@Version): {@code "5"}. У заказа к версии добавляется CRC32 от
+ * id и названий товаров позиций ({@code "5.3735928559"}): название входит в ответ, но версию заказа
+ * не меняет, а цена позиции зафиксирована в заказе, поэтому смена цены товара тег не трогает.
+ */
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    public static String of(OrderResponse order) {
+        Map<UUID, String> names = new HashMap<>();
+        if (order.getItems() != null) {
+            for (OrderProductResponse item : order.getItems()) {
+                if (item.getProductId() != null) {
+                    names.put(item.getProductId(), item.getName());
+                }
+            }
+        }
+        return of(order.getVersion(), names);
+    }
+
+    public static String of(OrderVersion version) {
+        return of(version.version(), version.productNames());
+    }
+
+    private static String of(Long version, Map<UUID, String> productNames) {
+        CRC32 crc = new CRC32();
+        new TreeMap<>(productNames).forEach((id, name) ->
+                crc.update((id + ":" + name + "\n").getBytes(StandardCharsets.UTF_8)));
+        return "\"" + (version == null ? 0 : version) + "." + crc.getValue() + "\"";
+    }
+
+    /**
+     * Ожидаемая версия из If-Match: null, если заголовка нет или он равен {@code *}.
+     * If-Match сравнивается строго, поэтому слабые и нераспознанные теги сразу дают 412.
+     * Из тега заказа берётся только версия: товары позиций его изменением не затрагиваются.
+     */
+    public static Long parseIfMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag, got " + header);
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int dot = value.indexOf('.');
+        try {
+            if (dot >= 0) {
+                Long.parseLong(value.substring(dot + 1));
+                value = value.substring(0, dot);
+            }
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag, got " + header);
+        }
+    }
+}
@@ -8,16 +8,10 @@ import java.util.Optional;
 
 public class EmployeeSpecs {
     public static Specification<Employee> firstNameContains (Optional<String> term) {
-        return (root, query, criteriaBuilder) ->
-                term.map(t -> criteriaBuilder.like(criteriaBuilder.lower(root.get("firstName")),
-                        "%" + t.toLowerCase() + "%"))
-                        .orElse(null);
+        return SpecBuilder.like("firstName", term.orElse(null));
     }
     public static Specification<Employee> lastNameContains (Optional<String> term) {
-        return (root, query, criteriaBuilder) ->
-                term.map(t -> criteriaBuilder.like(criteriaBuilder.lower(root.get("lastName")),
-                                "%" + t.toLowerCase() + "%"))
-                        .orElse(null);
+        return SpecBuilder.like("lastName", term.orElse(null));
     }
 
     public static Specification<Employee> hasRole (Optional<EmployeeRole> role) {
@@ -0,0 +1,36 @@
+package org.example.web.util;
+
+import org.example.web.exception.InvalidCursorException;
+import org.example.web.model.Order;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Позиция в ленте заказов (createdAt DESC, id DESC) для keyset-пагинации.
+ */
+public record OrderCursor(LocalDateTime createdAt, UUID id) {
+
+    public static final Sort SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    public static OrderCursor of(Order order) {
+        // postgres хранит timestamp с точностью до микросекунд
+        return new OrderCursor(order.getCreatedAt().truncatedTo(ChronoUnit.MICROS), order.getId());
+    }
+
+    public String encode() {
+        return CursorCodec.encode(createdAt.toString(), id.toString());
+    }
+
+    public static OrderCursor decode(String token) {
+        String[] parts = CursorCodec.decode(token, 2);
+        try {
+            return new OrderCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package org.example.web.util;
 
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import org.example.web.dto.order.OrderFilter;
 import org.example.web.model.Order;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public final class OrderSpecs {
@@ -18,6 +20,26 @@ public final class OrderSpecs {
         };
     }
 
+    public static Specification<Order> ofClient(UUID clientId) {
+        return (root, q, cb) -> cb.equal(root.get("client").get("id"), clientId);
+    }
+
+    /**
+     * Заказы строго после курсора в порядке (createdAt DESC, id DESC).
+     * Избыточное условие createdAt <= cursor даёт планировщику границу для index scan.
+     */
+    public static Specification<Order> after(OrderCursor cursor) {
+        return (root, q, cb) -> {
+            if (cursor == null) return cb.conjunction();
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            Path<UUID> id = root.get("id");
+            return cb.and(
+                    cb.lessThanOrEqualTo(createdAt, cursor.createdAt()),
+                    cb.or(cb.lessThan(createdAt, cursor.createdAt()),
+                            cb.lessThan(id, cursor.id())));
+        };
+    }
+
     public static Specification<Order> build(OrderFilter f) {
         return Specification.where(SpecBuilder.<Order>eq("status", f.status()))
                 .and(SpecBuilder.between("createdAt", f.from(), f.to()))
@@ -0,0 +1,27 @@
+package org.example.web.util;
+
+/**
+ * Разбор заголовка Prefer (RFC 7240) для записи: {@code return=minimal} означает, что тело ответа не нужно.
+ */
+public final class PreferHeader {
+    public static final String NAME = "Prefer";
+    public static final String APPLIED = "Preference-Applied";
+    public static final String RETURN_MINIMAL = "return=minimal";
+
+    private PreferHeader() {
+    }
+
+    public static boolean returnMinimal(String header) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        for (String token : header.split(",")) {
+            // параметры предпочтения после ';' не учитываем
+            String preference = token.split(";", 2)[0].replace(" ", "");
+            if (RETURN_MINIMAL.equalsIgnoreCase(preference)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
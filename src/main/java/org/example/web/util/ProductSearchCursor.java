@@ -0,0 +1,25 @@
+package org.example.web.util;
+
+import org.example.web.exception.InvalidCursorException;
+
+import java.util.UUID;
+
+/**
+ * Позиция в выдаче поиска товаров (rank DESC, id DESC) для keyset-пагинации.
+ * rank - значение ts_rank (real), Float.toString восстанавливается без потерь.
+ */
+public record ProductSearchCursor(float rank, UUID id) {
+
+    public String encode() {
+        return CursorCodec.encode(Float.toString(rank), id.toString());
+    }
+
+    public static ProductSearchCursor decode(String token) {
+        String[] parts = CursorCodec.decode(token, 2);
+        try {
+            return new ProductSearchCursor(Float.parseFloat(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.web.util;
+
+import java.time.Duration;
+
+/**
+ * Счётчик SQL-запросов текущего потока: сколько statement-ов ушло в БД и сколько они выполнялись.
+ * Запросы регистрирует QueryCountingDataSource, границы замера задают RequestFilter (HTTP-запрос)
+ * и тестовые проверки. Вложенный замер по окончании добавляет свои запросы во внешний.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Stats start() {
+        Stats stats = new Stats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Завершает текущий замер и возвращает его итог; без начатого замера - пустой итог.
+     */
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        if (stats == null) {
+            return new Stats(null);
+        }
+        if (stats.outer != null) {
+            stats.outer.statements += stats.statements;
+            stats.outer.nanos += stats.nanos;
+            CURRENT.set(stats.outer);
+        } else {
+            CURRENT.remove();
+        }
+        return stats;
+    }
+
+    /**
+     * Учитывает один выполненный statement (батч - один поход в БД). Вне замера ничего не делает.
+     */
+    public static void record(long nanos) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += nanos;
+        }
+    }
+
+    public static final class Stats {
+        private final Stats outer;
+        private int statements;
+        private long nanos;
+
+        private Stats(Stats outer) {
+            this.outer = outer;
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public Duration dbTime() {
+            return Duration.ofNanos(nanos);
+        }
+    }
+}
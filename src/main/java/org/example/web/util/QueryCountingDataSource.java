@@ -0,0 +1,83 @@
+package org.example.web.util;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * DataSource, который отдаёт соединения с подсчётом запросов: каждый execute, executeQuery,
+ * executeUpdate и executeBatch засекается и попадает в QueryCounter. Стоит под Hibernate и JdbcTemplate,
+ * поэтому видит и JPA-запросы, и прямой SQL репозиториев чтения.
+ * Обёртка заменяет бин пула, поэтому {@link #close()} передаётся пулу - иначе Spring при остановке
+ * контекста не закроет HikariDataSource.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Set<String> CREATE = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return CREATE.contains(method.getName())
+                            ? counting((Statement) result, method.getReturnType())
+                            : result;
+                });
+    }
+
+    /**
+     * type - объявленный тип результата (Statement, PreparedStatement или CallableStatement)
+     */
+    private static Object counting(Statement statement, Class<?> type) {
+        return Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, (proxy, method, args) -> {
+                    if (!EXECUTE.contains(method.getName())) {
+                        return invoke(statement, method, args);
+                    }
+                    long t0 = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        QueryCounter.record(System.nanoTime() - t0);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -1,24 +1,46 @@
 package org.example.web.util;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.web.config.QueryBudgetProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
+import java.io.PrintWriter;
 
+@Slf4j
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(QueryBudgetProperties.class)
 public class RequestFilter implements Filter {
     private static final String HEADER = "X-Request-ID";
     private static final String MDC_KEY = "requestId";
+    private static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    private static final String UNKNOWN_URI = "UNKNOWN";
 
+    private final QueryBudgetProperties budget;
+    private final MeterRegistry registry;
+
+    public RequestFilter(QueryBudgetProperties budget, ObjectProvider<MeterRegistry> registry) {
+        this.budget = budget;
+        this.registry = registry.getIfAvailable();
+    }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
@@ -32,13 +54,109 @@ public class RequestFilter implements Filter {
         }
 
         org.slf4j.MDC.put(MDC_KEY, requestId);
+        QueryCounter.Stats queries = QueryCounter.start();
+        QueryCountResponse response = new QueryCountResponse(httpResponse, queries);
 
         try {
             httpResponse.setHeader(HEADER, requestId);
 
-            filterChain.doFilter(servletRequest, servletResponse);
+            filterChain.doFilter(servletRequest, response);
         } finally {
+            QueryCounter.stop();
+            response.writeQueryCount();
+            report(httpRequest, queries);
             org.slf4j.MDC.remove(MDC_KEY);
         }
     }
+
+    /**
+     * Метрики app.request.queries / app.request.db и предупреждение о превышении бюджета.
+     * uri - шаблон эндпоинта, как в http.server.requests, чтобы не плодить серии на каждый id.
+     */
+    private void report(HttpServletRequest request, QueryCounter.Stats queries) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        String method = request.getMethod();
+
+        if (registry != null) {
+            DistributionSummary.builder("app.request.queries")
+                    .description("SQL statements per HTTP request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(queries.statements());
+            Timer.builder("app.request.db")
+                    .description("Time spent in SQL statements per HTTP request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(queries.dbTime());
+        }
+
+        int limit = budget.budget(method, uri);
+        if (pattern != null && queries.statements() > limit) {
+            log.warn("Query budget exceeded: {} {} ran {} statements (budget {}), dbTimeMs={}, path={}",
+                    method, uri, queries.statements(), limit, queries.dbTime().toMillis(), request.getRequestURI());
+        }
+    }
+
+    /**
+     * Заголовок нельзя добавить после отправки ответа, поэтому X-Query-Count пишется
+     * перед первой записью тела, а для ответов без тела - по завершении цепочки.
+     * QueryCounter привязан к потоку запроса: SQL из StreamingResponseBody (/api/orders/export)
+     * выполняется в асинхронном потоке уже после выхода из фильтра, поэтому такие ответы
+     * показывают X-Query-Count: 0 и в app.request.queries не попадают.
+     */
+    private static class QueryCountResponse extends HttpServletResponseWrapper {
+        private final QueryCounter.Stats queries;
+        private boolean written;
+
+        QueryCountResponse(HttpServletResponse response, QueryCounter.Stats queries) {
+            super(response);
+            this.queries = queries;
+        }
+
+        void writeQueryCount() {
+            if (!written && !isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, String.valueOf(queries.statements()));
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeQueryCount();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeQueryCount();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeQueryCount();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeQueryCount();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeQueryCount();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeQueryCount();
+            super.sendRedirect(location);
+        }
+    }
 }
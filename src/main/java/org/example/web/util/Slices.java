@@ -0,0 +1,48 @@
+package org.example.web.util;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+public final class Slices {
+
+    private Slices() {
+    }
+
+    /**
+     * Slice из строк, прочитанных с запасом в одну: лишняя строка отбрасывается и означает hasNext.
+     */
+    public static <T> Slice<T> window(List<T> rows, Pageable pageable) {
+        if (pageable.isUnpaged() || rows.size() <= pageable.getPageSize()) {
+            return new SliceImpl<>(rows, pageable, false);
+        }
+        return new SliceImpl<>(new ArrayList<>(rows.subList(0, pageable.getPageSize())), pageable, true);
+    }
+
+    /**
+     * Страница с приблизительным total. Оценка запрашивается только когда за окном ещё есть строки
+     * и не может быть меньше уже увиденного; на последней странице total известен точно.
+     */
+    public static <T> Page<T> estimated(Slice<T> slice, LongSupplier estimate) {
+        if (slice.getPageable().isUnpaged()) {
+            return new PageImpl<>(slice.getContent());
+        }
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        long total;
+        if (slice.hasNext()) {
+            total = Math.max(estimate.getAsLong(), seen + 1);
+        } else if (slice.hasContent() || seen == 0) {
+            total = seen;
+        } else {
+            // страница за концом выборки: строк не больше offset
+            total = Math.min(estimate.getAsLong(), seen);
+        }
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+}
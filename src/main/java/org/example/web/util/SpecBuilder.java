@@ -1,16 +1,97 @@
 package org.example.web.util;
 
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Path;
+import org.example.web.exception.SearchTermTooShortException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public final class SpecBuilder {
+
+    /**
+     * Короче трёх символов в терме нет ни одной триграммы, и GIN-индекс pg_trgm ничего не отсекает.
+     */
+    public static final int MIN_TERM_LENGTH = 3;
+
+    /**
+     * Псевдо-свойство сортировки: sort=relevance упорядочивает по похожести на термы поиска.
+     */
+    public static final String RELEVANCE = "relevance";
+
     private SpecBuilder() {
     }
 
+    /**
+     * {@code lower(field) LIKE '%term%'} - предикат, который обслуживает индекс
+     * {@code gin (lower(col) gin_trgm_ops)}. Символы % и _ из терма ищутся буквально.
+     */
     public static <T> Specification<T> like(String field, String value) {
-        return (root, q, cb) ->
-                isBlank(value) ? cb.conjunction()
-                        : cb.like(cb.lower(root.get(field)), "%" + value.toLowerCase() + "%");
+        String pattern = containsPattern(field, value);
+        if (pattern == null) {
+            return (root, q, cb) -> cb.conjunction();
+        }
+        return (root, q, cb) -> cb.like(cb.lower(root.get(field)), pattern);
+    }
+
+    /**
+     * Шаблон LIKE для {@link #like}; null, если терм пустой и фильтра нет.
+     */
+    static String containsPattern(String field, String value) {
+        return isBlank(value) ? null : "%" + escapeLike(term(field, value)) + "%";
+    }
+
+    /**
+     * Порядок по сумме {@code similarity(lower(field), term)} по непустым термам, при равенстве - по id.
+     * В count-запросе страницы ничего не делает.
+     */
+    public static <T> Specification<T> rankBySimilarity(Map<String, String> terms) {
+        return (root, q, cb) -> {
+            if (Long.class.equals(q.getResultType())) {
+                return cb.conjunction();
+            }
+            List<Expression<Double>> scores = terms.entrySet().stream()
+                    .filter(e -> !isBlank(e.getValue()))
+                    .map(e -> cb.function("similarity", Double.class,
+                            cb.lower(root.get(e.getKey())), cb.literal(term(e.getKey(), e.getValue()))))
+                    .toList();
+            if (scores.isEmpty()) {
+                q.orderBy(cb.asc(root.get("id")));
+            } else {
+                Expression<Double> score = scores.stream().reduce(cb::sum).orElseThrow();
+                q.orderBy(cb.desc(score), cb.asc(root.get("id")));
+            }
+            return cb.conjunction();
+        };
+    }
+
+    /**
+     * Пары поле - терм для {@link #rankBySimilarity}; пустые термы допускаются и пропускаются.
+     */
+    public static Map<String, String> terms(String... fieldAndTerm) {
+        Map<String, String> terms = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < fieldAndTerm.length; i += 2) {
+            terms.put(fieldAndTerm[i], fieldAndTerm[i + 1]);
+        }
+        return terms;
+    }
+
+    /**
+     * Ранжировать по похожести, если клиент попросил sort=relevance или не задал сортировку вовсе.
+     */
+    public static boolean sortsByRelevance(Pageable pageable) {
+        return pageable.getSort().isUnsorted() || pageable.getSort().getOrderFor(RELEVANCE) != null;
+    }
+
+    /**
+     * Pageable без сортировки: иначе Spring Data перезапишет ORDER BY из {@link #rankBySimilarity}.
+     */
+    public static Pageable unsorted(Pageable pageable) {
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
     }
 
     public static <T> Specification<T> eq(String field, Object value) {
@@ -30,7 +111,20 @@ public final class SpecBuilder {
         };
     }
 
+    private static String term(String field, String value) {
+        String term = value.strip().toLowerCase();
+        if (term.length() < MIN_TERM_LENGTH) {
+            throw new SearchTermTooShortException(field, value, MIN_TERM_LENGTH);
+        }
+        return term;
+    }
 
+    /**
+     * обратный слэш - escape-символ LIKE в postgres по умолчанию
+     */
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 
     private static boolean isBlank(String s) {
         return s == null || s.isBlank();
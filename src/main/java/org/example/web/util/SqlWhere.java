@@ -0,0 +1,51 @@
+package org.example.web.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WHERE-условие нативного SQL с теми же предикатами, что строит {@link SpecBuilder}, -
+ * для EXPLAIN-оценки размера выборки по фильтру списка.
+ */
+public final class SqlWhere {
+
+    private final StringBuilder sql = new StringBuilder("TRUE");
+    private final List<Object> params = new ArrayList<>();
+
+    public SqlWhere like(String column, String field, String value) {
+        String pattern = SpecBuilder.containsPattern(field, value);
+        if (pattern != null) {
+            sql.append(" AND lower(").append(column).append(") LIKE ?");
+            params.add(pattern);
+        }
+        return this;
+    }
+
+    public SqlWhere eq(String column, Object value) {
+        if (value != null) {
+            sql.append(" AND ").append(column).append(" = ?");
+            params.add(value);
+        }
+        return this;
+    }
+
+    public SqlWhere between(String column, Object from, Object to) {
+        if (from != null) {
+            sql.append(" AND ").append(column).append(" >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND ").append(column).append(" <= ?");
+            params.add(to);
+        }
+        return this;
+    }
+
+    public String sql() {
+        return sql.toString();
+    }
+
+    public List<Object> params() {
+        return params;
+    }
+}
@@ -0,0 +1,17 @@
+-- Поиск по подстроке: спецификации строят lower(col) LIKE '%term%',
+-- такой предикат обслуживает только триграммный GIN по тому же выражению.
+-- Расширение ставится один раз на базу; без прав суперпользователя его должен поставить администратор.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 1) клиенты: фильтры firstName, lastName, email, phone
+CREATE INDEX IF NOT EXISTS idx_clients_first_name_trgm ON clients USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_clients_last_name_trgm  ON clients USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_clients_email_trgm      ON clients USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_clients_phone_trgm      ON clients USING gin (lower(phone) gin_trgm_ops);
+
+-- 2) товары: фильтр name
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING gin (lower(name) gin_trgm_ops);
+
+-- 3) сотрудники: фильтры firstName, lastName
+CREATE INDEX IF NOT EXISTS idx_employee_first_name_trgm ON employee USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employee_last_name_trgm  ON employee USING gin (lower(last_name) gin_trgm_ops);
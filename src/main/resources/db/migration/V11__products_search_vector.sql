@@ -0,0 +1,11 @@
+-- Полнотекстовый поиск товаров: вектор по названию (вес A) и описанию (вес B),
+-- пересчитывается самой базой при каждой записи строки.
+-- Конфигурация 'simple' без стемминга: каталог смешанный по языку, а префиксный поиск (term:*) покрывает словоформы.
+ALTER TABLE products
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING gin (search_vector);
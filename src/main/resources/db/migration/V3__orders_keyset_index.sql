@@ -0,0 +1,3 @@
+-- Индекс под keyset-пагинацию заказов: ORDER BY created_at DESC, id DESC
+-- и условие (created_at, id) < (курсор) без сканирования предыдущих страниц
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at DESC, id DESC);
@@ -0,0 +1,33 @@
+-- 1) цена позиции на момент добавления в заказ: по ней пересчитывается total_amount
+ALTER TABLE order_products
+    ADD COLUMN IF NOT EXISTS unit_price DECIMAL(19,2);
+
+UPDATE order_products op
+SET    unit_price = coalesce(p.price, 0)
+FROM   products p
+WHERE  p.id = op.product_id
+AND    op.unit_price IS NULL;
+
+-- позиции без товара (product_id в V1 допускает NULL) join не находит: цена неизвестна, считаем 0
+UPDATE order_products
+SET    unit_price = 0
+WHERE  unit_price IS NULL;
+
+ALTER TABLE order_products
+    ALTER COLUMN unit_price SET NOT NULL;
+
+-- 2) денормализованные итоги заказа вместо подзапроса @Formula на каждую загрузку
+ALTER TABLE orders
+    ADD COLUMN IF NOT EXISTS items_total  INTEGER       NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS total_amount DECIMAL(19,2) NOT NULL DEFAULT 0;
+
+-- 3) backfill по существующим позициям
+UPDATE orders o
+SET    items_total  = t.qty,
+       total_amount = t.amount
+FROM  (SELECT order_id,
+              sum(quantity)              AS qty,
+              sum(quantity * unit_price) AS amount
+       FROM   order_products
+       GROUP  BY order_id) t
+WHERE  t.order_id = o.id;
@@ -0,0 +1,6 @@
+-- версия строки для оптимистичных блокировок и ETag (If-None-Match / If-Match)
+ALTER TABLE orders
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE products
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
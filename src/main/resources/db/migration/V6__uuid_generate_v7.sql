@@ -0,0 +1,16 @@
+-- UUIDv7 на стороне БД для строк, которые вставляются SQL-ом без участия приложения
+-- (импорт каталога через COPY): 48 бит unix-времени в мс, дальше случайные биты, версия 7, вариант RFC 4122.
+-- Раскладка совпадает с org.example.web.util.UuidV7, поэтому такие id тоже растут по времени.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS uuid
+    LANGUAGE sql VOLATILE AS
+$$
+SELECT encode(
+               set_bit(
+                       set_bit(
+                               overlay(uuid_send(gen_random_uuid())
+                                       PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                                       FROM 1 FOR 6),
+                               52, 1),
+                       53, 1),
+               'hex')::uuid
+$$;
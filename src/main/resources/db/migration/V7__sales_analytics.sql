@@ -0,0 +1,46 @@
+-- Витрина продаж по дням: выручка и штуки по товару и по клиенту.
+-- Поддерживается инкрементально в OrderService, отменённые (CANCELED) заказы не учитываются.
+-- День - дата orders.created_at. Перестроение с нуля: POST /api/analytics/rebuild.
+
+-- 1) товар x день; PK обслуживает ряд по товару, индекс по дню - топ товаров за период
+CREATE TABLE IF NOT EXISTS sales_daily_product
+(
+    product_id UUID          NOT NULL,
+    day        DATE          NOT NULL,
+    units      BIGINT        NOT NULL DEFAULT 0,
+    revenue    DECIMAL(19,2) NOT NULL DEFAULT 0,
+    CONSTRAINT pk_sales_daily_product PRIMARY KEY (product_id, day)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sales_daily_product_day ON sales_daily_product (day);
+
+-- 2) клиент x день
+CREATE TABLE IF NOT EXISTS sales_daily_client
+(
+    client_id UUID          NOT NULL,
+    day       DATE          NOT NULL,
+    orders    BIGINT        NOT NULL DEFAULT 0,
+    units     BIGINT        NOT NULL DEFAULT 0,
+    revenue   DECIMAL(19,2) NOT NULL DEFAULT 0,
+    CONSTRAINT pk_sales_daily_client PRIMARY KEY (client_id, day)
+);
+
+-- 3) начальное заполнение по существующим заказам; строки без товара или даты (допускаются с V1) пропускаются
+INSERT INTO sales_daily_product (product_id, day, units, revenue)
+SELECT op.product_id, o.created_at::date, sum(op.quantity), sum(op.quantity * op.unit_price)
+FROM   orders o
+JOIN   order_products op ON op.order_id = o.id
+WHERE  o.status IS DISTINCT FROM 'CANCELED'
+AND    op.product_id IS NOT NULL
+AND    o.created_at IS NOT NULL
+GROUP  BY op.product_id, o.created_at::date
+ON CONFLICT (product_id, day) DO NOTHING;
+
+INSERT INTO sales_daily_client (client_id, day, orders, units, revenue)
+SELECT o.client_id, o.created_at::date, count(*), sum(o.items_total), sum(o.total_amount)
+FROM   orders o
+WHERE  o.status IS DISTINCT FROM 'CANCELED'
+AND    o.client_id IS NOT NULL
+AND    o.created_at IS NOT NULL
+GROUP  BY o.client_id, o.created_at::date
+ON CONFLICT (client_id, day) DO NOTHING;
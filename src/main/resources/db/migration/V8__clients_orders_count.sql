@@ -0,0 +1,15 @@
+-- Денормализованный счётчик заказов клиента вместо GROUP BY по orders на каждую страницу клиентов.
+-- Поддерживается в OrderService атомарным UPDATE при создании и удалении заказов.
+ALTER TABLE clients
+    ADD COLUMN IF NOT EXISTS orders_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE clients c
+SET    orders_count = t.cnt
+FROM  (SELECT client_id, count(*) AS cnt
+       FROM   orders
+       WHERE  client_id IS NOT NULL
+       GROUP  BY client_id) t
+WHERE  t.client_id = c.id;
+
+-- сортировка списка клиентов по числу заказов (sort=ordersCount)
+CREATE INDEX IF NOT EXISTS idx_clients_orders_count ON clients (orders_count DESC, id);
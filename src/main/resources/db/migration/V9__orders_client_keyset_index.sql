@@ -0,0 +1,4 @@
+-- Заказы клиента: WHERE client_id = ? ORDER BY created_at DESC, id DESC.
+-- Тот же индекс обслуживает existsByClientId (удаление клиента) и count для постраничного списка.
+-- id по убыванию, как в OrderCursor.SORT, чтобы keyset-окно читалось index scan без досортировки.
+CREATE INDEX IF NOT EXISTS idx_orders_client_created_at_id ON orders (client_id, created_at DESC, id DESC);
@@ -0,0 +1,139 @@
+package org.example.web.benchmark;
+
+import org.example.web.dto.CursorPage;
+import org.example.web.dto.order.OrderResponse;
+import org.example.web.service.OrderService;
+import org.example.web.util.OrderCursor;
+import org.example.web.util.UuidV7;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Заказы одного клиента с большой историей: OFFSET-страницы против keyset-окон
+ * по idx_orders_client_created_at_id, плюс план запроса окна. Запуск:
+ * {@code ./gradlew test --tests '*ClientOrdersBenchmarkIT' -Dbenchmark=true -Dbenchmark.orders=100000}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ClientOrdersBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientOrdersBenchmarkIT.class);
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 100_000);
+    private static final int NOISE_CLIENTS = 50;
+    private static final int PAGE = 50;
+    private static final int CHUNK = 10_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private UUID client;
+
+    @BeforeEach
+    void setup() {
+        jdbc.execute("TRUNCATE order_products, orders, products, clients, sales_daily_product, sales_daily_client CASCADE");
+        UUID product = UuidV7.randomUuid();
+        jdbc.update("INSERT INTO products (id, name, description, price, version) VALUES (?, 'Bench', 'Bench', 1.00, 0)", product);
+
+        // целевой клиент и фон из других клиентов, чтобы индекс не совпадал со всей таблицей
+        List<UUID> clients = new ArrayList<>();
+        for (int i = 0; i <= NOISE_CLIENTS; i++) {
+            UUID id = UuidV7.randomUuid();
+            jdbc.update("INSERT INTO clients (id, first_name, last_name, email, phone, orders_count) "
+                    + "VALUES (?, 'Bench', 'Client', ?, '+70000000000', 0)", id, "bench" + i + "@example.com");
+            clients.add(id);
+        }
+        client = clients.get(0);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        int total = ORDERS * 2;
+        for (int done = 0; done < total; done += CHUNK) {
+            List<Object[]> orders = new ArrayList<>(CHUNK);
+            List<Object[]> items = new ArrayList<>(CHUNK);
+            for (int i = done; i < Math.min(done + CHUNK, total); i++) {
+                // каждый второй заказ - целевого клиента
+                UUID owner = i % 2 == 0 ? client : clients.get(1 + i % NOISE_CLIENTS);
+                UUID orderId = UuidV7.randomUuid();
+                orders.add(new Object[]{orderId, Timestamp.valueOf(start.plusSeconds(i * 15L)), "NEW", owner});
+                items.add(new Object[]{UuidV7.randomUuid(), orderId, product, 1, BigDecimal.ONE});
+            }
+            jdbc.batchUpdate("INSERT INTO orders (id, created_at, status, client_id, items_total, total_amount, version) "
+                    + "VALUES (?, ?, ?, ?, 1, 1.00, 0)", orders);
+            jdbc.batchUpdate("INSERT INTO order_products (id, order_id, product_id, quantity, unit_price) "
+                    + "VALUES (?, ?, ?, ?, ?)", items);
+        }
+        jdbc.execute("ANALYZE orders");
+        jdbc.execute("ANALYZE order_products");
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbc.execute("TRUNCATE order_products, orders, products, clients CASCADE");
+    }
+
+    @Test
+    void offsetPages_vs_keysetWindows() {
+        int pages = ORDERS / PAGE;
+        int[] probes = {0, pages / 10, pages / 2, pages - 1};
+
+        for (int probe : probes) {
+            long t0 = System.nanoTime();
+            Page<OrderResponse> page = orderService.findByClientId(client, PageRequest.of(probe, PAGE, OrderCursor.SORT));
+            long offsetNanos = System.nanoTime() - t0;
+            assertEquals(PAGE, page.getNumberOfElements());
+            log.info("offset page {}: {} ms", probe, String.format("%.1f", offsetNanos / 1e6));
+        }
+
+        String after = null;
+        long slowest = 0;
+        long t0 = System.nanoTime();
+        int windows = 0;
+        do {
+            long w0 = System.nanoTime();
+            CursorPage<OrderResponse> window = orderService.scrollByClient(client, after, PAGE);
+            slowest = Math.max(slowest, System.nanoTime() - w0);
+            after = window.nextCursor();
+            windows++;
+        } while (after != null);
+        long keysetNanos = System.nanoTime() - t0;
+        assertEquals(pages, windows);
+        log.info("keyset: {} windows, {} ms total, {} ms avg, {} ms slowest", windows,
+                String.format("%.1f", keysetNanos / 1e6), String.format("%.2f", keysetNanos / 1e6 / windows),
+                String.format("%.1f", slowest / 1e6));
+
+        List<String> plan = jdbc.queryForList("""
+                EXPLAIN (ANALYZE, BUFFERS)
+                SELECT id FROM orders
+                WHERE client_id = ? AND created_at <= now() AND (created_at < now() OR id < ?)
+                ORDER BY created_at DESC, id DESC
+                LIMIT 51
+                """, String.class, client, UuidV7.randomUuid());
+        log.info("keyset window plan:\n{}", String.join("\n", plan));
+        assertTrue(plan.stream().anyMatch(line -> line.contains("idx_orders_client_created_at_id")),
+                () -> "keyset window does not use idx_orders_client_created_at_id:\n" + String.join("\n", plan));
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.web.benchmark;
+
+import org.example.web.dto.order.OrderBatchResponse;
+import org.example.web.dto.order.OrderRequest;
+import org.example.web.dto.orderProduct.OrderProductRequest;
+import org.example.web.model.Client;
+import org.example.web.model.OrderStatus;
+import org.example.web.model.Product;
+import org.example.web.repository.ClientRepository;
+import org.example.web.repository.ProductRepository;
+import org.example.web.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Сравнение POST /api/orders в цикле с пакетной загрузкой. Запуск:
+ * {@code ./gradlew test --tests '*OrderBatchBenchmarkIT' -Dbenchmark=true -Dbenchmark.orders=5000}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrderBatchBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBatchBenchmarkIT.class);
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 2_000);
+    private static final int CLIENTS = 200;
+    private static final int PRODUCTS = 100;
+    private static final int MAX_LINES = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private List<Client> clients;
+    private List<Product> products;
+
+    @BeforeEach
+    void setup() {
+        jdbc.execute("TRUNCATE order_products, orders, products, clients, sales_daily_product, sales_daily_client CASCADE");
+
+        clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(Client.builder()
+                    .firstName("Client" + i)
+                    .lastName("Bench")
+                    .email("client" + i + "@bench.local")
+                    .phone("+7900" + i)
+                    .build());
+        }
+        clients = clientRepository.saveAll(clients);
+
+        products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .name("Product " + i)
+                    .description("Benchmark product")
+                    .price(BigDecimal.valueOf(1 + i))
+                    .build());
+        }
+        products = productRepository.saveAll(products);
+    }
+
+    @Test
+    void createBatch_vsLoopedCreate() {
+        List<OrderRequest> requests = requests(new Random(42));
+
+        long t0 = System.nanoTime();
+        requests.forEach(orderService::create);
+        long loopNanos = System.nanoTime() - t0;
+        Map<String, Object> loopTotals = derivedTotals();
+
+        clearOrders();
+
+        t0 = System.nanoTime();
+        OrderBatchResponse response = orderService.createBatch(requests);
+        long batchNanos = System.nanoTime() - t0;
+
+        assertEquals(ORDERS, response.created());
+        assertEquals(loopTotals, derivedTotals(), "batch must leave orders_count and sales analytics as the loop did");
+        log.info(String.format("orders=%d  loop create: %d ms (%.0f orders/s)  batch: %d ms (%.0f orders/s)  speedup x%.1f",
+                ORDERS,
+                loopNanos / 1_000_000, ORDERS * 1e9 / loopNanos,
+                batchNanos / 1_000_000, ORDERS * 1e9 / batchNanos,
+                (double) loopNanos / batchNanos));
+    }
+
+    /**
+     * Заказы удаляются вместе с тем, что из них выведено: orders_count клиентов и витрина продаж
+     * поддерживаются инкрементально и после TRUNCATE заказов иначе остались бы от первого прогона.
+     */
+    private void clearOrders() {
+        jdbc.execute("TRUNCATE order_products, orders, sales_daily_product, sales_daily_client");
+        jdbc.update("UPDATE clients SET orders_count = 0 WHERE orders_count <> 0");
+    }
+
+    private Map<String, Object> derivedTotals() {
+        return jdbc.queryForMap("""
+                SELECT (SELECT coalesce(sum(orders_count), 0) FROM clients)              AS orders_count,
+                       (SELECT coalesce(sum(units), 0) FROM sales_daily_product)         AS product_units,
+                       (SELECT coalesce(sum(revenue), 0) FROM sales_daily_product)       AS product_revenue,
+                       (SELECT coalesce(sum(orders), 0) FROM sales_daily_client)         AS client_orders
+                """);
+    }
+
+    private List<OrderRequest> requests(Random random) {
+        List<OrderRequest> requests = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            int lines = 1 + random.nextInt(MAX_LINES);
+            int first = random.nextInt(PRODUCTS);
+            List<OrderProductRequest> items = new ArrayList<>(lines);
+            for (int l = 0; l < lines; l++) {
+                items.add(new OrderProductRequest(products.get((first + l) % PRODUCTS).getId(), 1 + random.nextInt(3)));
+            }
+            requests.add(new OrderRequest(clients.get(random.nextInt(CLIENTS)).getId(), OrderStatus.NEW, items));
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.web.benchmark;
+
+import org.example.web.util.UuidV7;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Размер индексов и скорость вставки для случайных (v4) и упорядоченных (v7) ключей
+ * на таблицах той же формы, что orders и order_products. Запуск:
+ * {@code ./gradlew test --tests '*UuidIndexBenchmarkIT' -Dbenchmark=true -Dbenchmark.rows=3000000}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UuidIndexBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidIndexBenchmarkIT.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int CHUNK = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanup() {
+        jdbc.execute("DROP TABLE IF EXISTS bench_items_v4, bench_orders_v4, bench_items_v7, bench_orders_v7");
+    }
+
+    @Test
+    void insert_v4_vs_v7() {
+        Result v4 = run("v4", UUID::randomUUID);
+        Result v7 = run("v7", UuidV7::randomUuid);
+
+        log.info("rows={}\n{}\n{}", ROWS, v4, v7);
+    }
+
+    private Result run(String suffix, Supplier<UUID> ids) {
+        String orders = "bench_orders_" + suffix;
+        String items = "bench_items_" + suffix;
+        jdbc.execute("CREATE TABLE " + orders + " (id uuid PRIMARY KEY, created_at timestamp NOT NULL, status varchar(20))");
+        jdbc.execute("CREATE TABLE " + items + " (id uuid PRIMARY KEY, order_id uuid NOT NULL, product_id uuid NOT NULL, "
+                + "quantity int NOT NULL, CONSTRAINT uk_" + items + " UNIQUE (order_id, product_id))");
+        jdbc.execute("CREATE INDEX idx_" + items + "_order_id ON " + items + " (order_id)");
+
+        UUID product = UUID.randomUUID();
+        long t0 = System.nanoTime();
+        for (int done = 0; done < ROWS; done += CHUNK) {
+            List<Object[]> orderRows = new ArrayList<>(CHUNK);
+            List<Object[]> itemRows = new ArrayList<>(CHUNK);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < Math.min(CHUNK, ROWS - done); i++) {
+                UUID orderId = ids.get();
+                orderRows.add(new Object[]{orderId, now, "NEW"});
+                itemRows.add(new Object[]{ids.get(), orderId, product, 1});
+            }
+            jdbc.batchUpdate("INSERT INTO " + orders + " (id, created_at, status) VALUES (?, ?, ?)", orderRows);
+            jdbc.batchUpdate("INSERT INTO " + items + " (id, order_id, product_id, quantity) VALUES (?, ?, ?, ?)", itemRows);
+        }
+        long nanos = System.nanoTime() - t0;
+
+        return new Result(suffix, nanos,
+                size(orders + "_pkey"),
+                size("idx_" + items + "_order_id"),
+                size("uk_" + items));
+    }
+
+    private long size(String index) {
+        return jdbc.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, index);
+    }
+
+    private record Result(String name, long nanos, long ordersPk, long itemsOrderIdx, long itemsUnique) {
+        @Override
+        public String toString() {
+            return String.format("%s: %d ms (%.0f rows/s)  orders_pkey=%d MB  idx_op_order_id=%d MB  uk_order_product=%d MB",
+                    name, nanos / 1_000_000, ROWS * 1e9 / nanos,
+                    ordersPk >> 20, itemsOrderIdx >> 20, itemsUnique >> 20);
+        }
+    }
+}
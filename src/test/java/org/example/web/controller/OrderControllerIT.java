@@ -3,6 +3,7 @@ package org.example.web.controller;
 import org.example.web.dto.order.OrderRequest;
 import org.example.web.dto.order.OrderResponse;
 import org.example.web.dto.orderProduct.OrderProductRequest;
+import org.example.web.dto.product.ProductRequest;
 import org.example.web.fixtures.ClientFixture;
 import org.example.web.fixtures.ProductFixture;
 import org.example.web.model.Client;
@@ -23,6 +24,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.test.web.servlet.MvcResult;
 
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,7 +34,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -221,6 +225,37 @@ class OrderControllerIT {
                 .andExpect(jsonPath("$.items[0].quantity").value(2));
     }
 
+    @Test
+    void getOrderById_whenProductOnlyRepriced_keepsAnswering304() throws Exception {
+        // given
+        OrderRequest request = new OrderRequest(clientId, OrderStatus.NEW, List.of(new OrderProductRequest(productId, 1)));
+        String body = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        UUID orderId = objectMapper.readValue(body, OrderResponse.class).getId();
+        String etag = mockMvc.perform(get("/api/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when: цена в заказе зафиксирована, поэтому смена только цены товара ответ не меняет
+        Product product = productRepository.findById(productId).orElseThrow();
+        mockMvc.perform(put("/api/products/{id}", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductRequest(
+                                product.getName(), product.getDescription(), new BigDecimal("99.99")))))
+                .andExpect(status().isOk());
+
+        // then
+        for (int poll = 0; poll < 2; poll++) {
+            mockMvc.perform(get("/api/orders/{id}", orderId)
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etag));
+        }
+    }
+
     @Test
     void getOrderById_whenOrderNotFound_returns404() throws Exception {
         // given
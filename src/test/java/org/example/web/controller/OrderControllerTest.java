@@ -1,15 +1,20 @@
 package org.example.web.controller;
 
+import org.example.web.dto.CountMode;
 import org.example.web.dto.order.OrderFilter;
 import org.example.web.dto.order.OrderRequest;
 import org.example.web.dto.order.OrderResponse;
+import org.example.web.dto.order.OrderVersion;
 
 import org.example.web.dto.orderProduct.OrderProductRequest;
 import org.example.web.dto.orderProduct.OrderProductResponse;
 import org.example.web.exception.DuplicateProductInOrderException;
 import org.example.web.exception.NotFoundException;
+import org.example.web.exception.PreconditionFailedException;
 import org.example.web.model.OrderStatus;
+import org.example.web.service.OrderExportService;
 import org.example.web.service.OrderService;
+import org.example.web.util.ETags;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -29,20 +34,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -55,6 +65,9 @@ class OrderControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private OrderExportService orderExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -85,6 +98,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.clientId").value(clientId.toString()))
                 .andExpect(jsonPath("$.status").value("NEW"))
                 .andExpect(jsonPath("$.itemsTotal").value(1))
+                .andExpect(header().string("Location", containsString("/api/orders/" + orderId)))
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
     }
 
@@ -189,6 +203,7 @@ class OrderControllerTest {
                 .status(OrderStatus.NEW)
                 .items(List.of(new OrderProductResponse(productId, "Bread", 1, BigDecimal.valueOf(19.99))))
                 .itemsTotal(1)
+                .version(3L)
                 .build();
 
         //when
@@ -198,6 +213,7 @@ class OrderControllerTest {
         mockMvc.perform(get("/api/orders/{id}", orderId)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.of(new OrderVersion(3L, Map.of(productId, "Bread")))))
                 .andExpect(jsonPath("$.id").value(orderId.toString()))
                 .andExpect(jsonPath("$.clientId").value(clientId.toString()))
                 .andExpect(jsonPath("$.status").value("NEW"))
@@ -206,6 +222,37 @@ class OrderControllerTest {
 
     }
 
+    @Test
+    void getOrderById_whenIfNoneMatchCurrent_returns304WithoutLoadingOrder() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        OrderVersion current = new OrderVersion(3L, Map.of(UUID.randomUUID(), "Bread"));
+        String tag = ETags.of(current);
+
+        when(orderService.versionWithProducts(orderId)).thenReturn(current);
+
+        mockMvc.perform(get("/api/orders/{id}", orderId)
+                        .header("If-None-Match", tag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", tag))
+                .andExpect(content().string(""));
+
+        verify(orderService, never()).getOne(any());
+    }
+
+    @Test
+    void updateOrderStatus_whenIfMatchStale_returns412() throws Exception {
+        UUID orderId = UUID.randomUUID();
+
+        when(orderService.updateStatus(orderId, OrderStatus.COMPLETED, 2L, true))
+                .thenThrow(new PreconditionFailedException("Order", orderId, 2L, 3L));
+
+        mockMvc.perform(patch("/api/orders/{id}/status", orderId)
+                        .param("status", "COMPLETED")
+                        .header("If-Match", "\"2\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("PRECONDITION_FAILED"));
+    }
+
     @Test
     void getOrderById_whenOrderNotFound_returns404() throws Exception {
         //given
@@ -242,7 +289,7 @@ class OrderControllerTest {
                 .build();
 
         //when
-        when(orderService.updateStatus(orderId,OrderStatus.COMPLETED )).thenReturn(response);
+        when(orderService.updateStatus(orderId, OrderStatus.COMPLETED, null, true)).thenReturn(response);
 
         //then
         mockMvc.perform(patch("/api/orders/{id}/status?status=COMPLETED", orderId)
@@ -255,6 +302,29 @@ class OrderControllerTest {
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
     }
+
+    @Test
+    void updateOrderStatusById_whenPreferReturnMinimal_returns204WithEtag() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        OrderResponse versionOnly = OrderResponse.builder()
+                .id(orderId)
+                .version(4L)
+                .items(List.of())
+                .build();
+
+        when(orderService.updateStatus(orderId, OrderStatus.COMPLETED, null, false)).thenReturn(versionOnly);
+
+        mockMvc.perform(patch("/api/orders/{id}/status", orderId)
+                        .param("status", "COMPLETED")
+                        .header("Prefer", "return=minimal"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Preference-Applied", "return=minimal"))
+                .andExpect(header().string("ETag", ETags.of(versionOnly)))
+                .andExpect(content().string(""));
+
+        verify(orderService).updateStatus(orderId, OrderStatus.COMPLETED, null, false);
+    }
+
     @Test
     void updateOrderStatusById_whenInvalidStatus_returns400() throws Exception {
         UUID orderId = UUID.randomUUID();
@@ -275,7 +345,7 @@ class OrderControllerTest {
     void updateOrderStatus_whenOrderNotFound_returns404() throws Exception {
         UUID missingOrderId = UUID.randomUUID();
 
-        when(orderService.updateStatus(missingOrderId, OrderStatus.COMPLETED))
+        when(orderService.updateStatus(missingOrderId, OrderStatus.COMPLETED, null, true))
                 .thenThrow(new NotFoundException("Order", missingOrderId));
 
         mockMvc.perform(patch("/api/orders/{id}/status", missingOrderId)
@@ -295,7 +365,7 @@ class OrderControllerTest {
     void deleteOrder_whenExists_returns204() throws Exception {
         UUID orderId = UUID.randomUUID();
 
-        doNothing().when(orderService).delete(orderId);
+        doNothing().when(orderService).delete(orderId, null);
 
         mockMvc.perform(delete("/api/orders/{id}", orderId))
                 .andExpect(status().isNoContent());
@@ -306,7 +376,7 @@ class OrderControllerTest {
         UUID missingOrderId = UUID.randomUUID();
 
         doThrow(new NotFoundException("Order", missingOrderId))
-                .when(orderService).delete(missingOrderId);
+                .when(orderService).delete(missingOrderId, null);
 
         mockMvc.perform(delete("/api/orders/{id}", missingOrderId))
                 .andExpect(status().isNotFound())
@@ -351,7 +421,7 @@ class OrderControllerTest {
                 1
         );
 
-        when(orderService.findAll(any(OrderFilter.class), any(Pageable.class)))
+        when(orderService.findAll(any(OrderFilter.class), any(Pageable.class), eq(CountMode.EXACT)))
                 .thenReturn(page);
 
         // when + then
@@ -377,7 +447,7 @@ class OrderControllerTest {
                 0
         );
 
-        when(orderService.findAll(any(OrderFilter.class), any(Pageable.class)))
+        when(orderService.findAll(any(OrderFilter.class), any(Pageable.class), eq(CountMode.EXACT)))
                 .thenReturn(emptyPage);
 
         mockMvc.perform(get("/api/orders")
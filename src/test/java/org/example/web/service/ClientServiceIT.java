@@ -0,0 +1,94 @@
+package org.example.web.service;
+
+import org.example.web.dto.client.ClientFilter;
+import org.example.web.dto.client.ClientResponse;
+import org.example.web.exception.SearchTermTooShortException;
+import org.example.web.model.Client;
+import org.example.web.repository.ClientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ClientServiceIT {
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findAll_whenSortedByRelevance_returnsSubstringMatchesMostSimilarFirst() {
+        // given
+        save("Hannah", "Trigramson", "hannah@example.com");
+        save("Annabelle", "Trigramson", "annabelle@example.com");
+        save("Anna", "Trigramson", "anna@example.com");
+        save("Boris", "Trigramson", "boris@example.com");
+        clientRepository.flush();
+
+        // when
+        List<String> names = clientService.findAll(new ClientFilter("ANN", "trigramson", null, null),
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "relevance")))
+                .map(ClientResponse::getFirstName)
+                .getContent();
+
+        // then
+        assertEquals(List.of("Anna", "Annabelle", "Hannah"), names);
+    }
+
+    @Test
+    void findAll_whenTermContainsLikeWildcards_matchesThemLiterally() {
+        // given
+        save("Percent", "Literal", "100%off@example.com");
+        save("Plain", "Literal", "1000off@example.com");
+        clientRepository.flush();
+
+        // when
+        List<String> emails = clientService.findAll(new ClientFilter(null, null, "100%", null), PageRequest.of(0, 10))
+                .map(ClientResponse::getEmail)
+                .getContent();
+
+        // then
+        assertEquals(List.of("100%off@example.com"), emails);
+    }
+
+    @Test
+    void findAll_whenTermShorterThanThreeCharacters_throwsSearchTermTooShort() {
+        assertThrows(SearchTermTooShortException.class,
+                () -> clientService.findAll(new ClientFilter("an", null, null, null), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void substringFilter_isServedByTrigramIndex() {
+        // на почти пустой таблице планировщик выберет seq scan - запрещаем его, чтобы проверить применимость индекса
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM clients WHERE lower(first_name) LIKE '%ann%'", String.class);
+
+        assertTrue(plan.stream().anyMatch(line -> line.contains("idx_clients_first_name_trgm")), String.join("\n", plan));
+    }
+
+    private void save(String firstName, String lastName, String email) {
+        clientRepository.save(Client.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .phone("+79001234567")
+                .build());
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.web.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.web.dto.analytics.DailySales;
+import org.example.web.dto.order.OrderBulkStatusRequest;
+import org.example.web.dto.order.OrderBulkStatusResponse;
+import org.example.web.dto.order.OrderRequest;
+import org.example.web.dto.orderProduct.OrderProductRequest;
+import org.example.web.fixtures.ProductFixture;
+import org.example.web.model.Client;
+import org.example.web.model.OrderStatus;
+import org.example.web.model.Product;
+import org.example.web.repository.ClientRepository;
+import org.example.web.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Без @Transactional: обе транзакции должны реально конкурировать за строку заказа.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderBulkStatusConcurrencyIT {
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesAnalyticsService analyticsService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID clientId;
+    private UUID productId;
+    private UUID orderId;
+
+    @AfterEach
+    void cleanup() {
+        if (orderId != null) {
+            orderService.delete(orderId);
+        }
+        if (productId != null) {
+            productRepository.deleteById(productId);
+        }
+        if (clientId != null) {
+            clientRepository.deleteById(clientId);
+        }
+    }
+
+    @Test
+    void updateStatuses_whenRowCanceledConcurrently_readsPreviousStatusUnderRowLock() throws Exception {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Vera")
+                .lastName("Lock")
+                .email("vera.lock@example.com")
+                .phone("+79001236666")
+                .build());
+        clientId = client.getId();
+        Product product = productRepository.save(ProductFixture.defaultProduct()
+                .name("Concurrency crate")
+                .price(new BigDecimal("5.00"))
+                .build());
+        productId = product.getId();
+        orderId = orderService.create(new OrderRequest(clientId, OrderStatus.NEW,
+                List.of(new OrderProductRequest(productId, 3)))).getId();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch canceled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // when: одиночный PATCH отменяет заказ (продажа снимается) и держит блокировку строки
+            Future<?> cancel = pool.submit(() -> tx.executeWithoutResult(status -> {
+                orderService.updateStatus(orderId, OrderStatus.CANCELED);
+                entityManager.flush();
+                canceled.countDown();
+                try {
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(ex);
+                }
+            }));
+            assertTrue(canceled.await(10, TimeUnit.SECONDS));
+
+            // массовый перевод в COMPLETED ждёт эту блокировку и должен увидеть CANCELED, а не NEW
+            Future<OrderBulkStatusResponse> bulk = pool.submit(() -> orderService.updateStatuses(
+                    new OrderBulkStatusRequest(List.of(orderId), null, OrderStatus.COMPLETED)));
+            awaitLockWait();
+            release.countDown();
+            cancel.get(10, TimeUnit.SECONDS);
+            OrderBulkStatusResponse response = bulk.get(10, TimeUnit.SECONDS);
+
+            // then
+            assertEquals(1, response.updated());
+            assertEquals(OrderStatus.COMPLETED, orderService.getOne(orderId).getStatus());
+            LocalDate today = LocalDate.now();
+            assertEquals(List.of(new DailySales(today, 3, new BigDecimal("15.00"))),
+                    analyticsService.productDaily(productId, today, today),
+                    "order moved CANCELED -> COMPLETED must be added back to sales");
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject("""
+                    SELECT count(*) FROM pg_stat_activity
+                    WHERE datname = current_database() AND wait_event_type = 'Lock'
+                    """, Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("bulk update did not wait for the row lock");
+    }
+}
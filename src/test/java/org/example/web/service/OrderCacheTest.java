@@ -0,0 +1,154 @@
+package org.example.web.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.web.dto.order.OrderResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCacheTest {
+
+    private final OrderCache cache = new OrderCache(100, Duration.ofMinutes(1),
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void put_whenNoTransaction_storesImmediately() {
+        // given
+        UUID id = UUID.randomUUID();
+        OrderResponse response = OrderResponse.builder().id(id).build();
+
+        // when
+        cache.put(id, response);
+
+        // then
+        assertSame(response, cache.get(id));
+    }
+
+    @Test
+    void put_whenInTransaction_publishesOnlyAfterCommit() {
+        // given
+        UUID id = UUID.randomUUID();
+        OrderResponse stale = OrderResponse.builder().id(id).build();
+        OrderResponse fresh = OrderResponse.builder().id(id).build();
+        cache.put(id, stale);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        cache.put(id, fresh);
+
+        // then
+        assertNull(cache.get(id));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertSame(fresh, cache.get(id));
+    }
+
+    @Test
+    void put_whenTransactionRolledBack_leavesKeyEmpty() {
+        // given
+        UUID id = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        cache.put(id, OrderResponse.builder().id(id).build());
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // then
+        assertNull(cache.get(id));
+    }
+
+    @Test
+    void evict_whenReaderRepopulatesBeforeCommit_evictsAgainAfterCompletion() {
+        // given
+        UUID id = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evict(id);
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // when: параллельное чтение успело положить старое значение до коммита
+        cache.put(id, OrderResponse.builder().id(id).build());
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // then
+        assertNull(cache.get(id));
+    }
+
+    @Test
+    void putLoaded_whenWriterCommitsWhileReaderInFlight_keepsWriterVersion() {
+        // given: читатель загрузил v1 и ещё не завершил транзакцию
+        UUID id = UUID.randomUUID();
+        OrderResponse v1 = OrderResponse.builder().id(id).version(1L).build();
+        OrderResponse v2 = OrderResponse.builder().id(id).version(2L).build();
+        long ticket = cache.ticket();
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putLoaded(id, v1, ticket);
+        var reader = suspend();
+
+        // when: писатель коммитит v2, затем завершается читатель
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(id, v2);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        reader.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // then
+        assertSame(v2, cache.get(id));
+    }
+
+    @Test
+    void putLoaded_whenEvictedAfterTicket_skipsStaleValue() {
+        // given
+        UUID id = UUID.randomUUID();
+        long ticket = cache.ticket();
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evict(id);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // when
+        cache.putLoaded(id, OrderResponse.builder().id(id).version(1L).build(), ticket);
+
+        // then
+        assertNull(cache.get(id));
+    }
+
+    @Test
+    void putLoaded_whenEntryPresent_keepsItWhileReaderRuns() {
+        // given
+        UUID id = UUID.randomUUID();
+        OrderResponse cached = OrderResponse.builder().id(id).version(3L).build();
+        cache.put(id, cached);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        cache.putLoaded(id, OrderResponse.builder().id(id).version(2L).build(), cache.ticket());
+
+        // then
+        assertSame(cached, cache.get(id));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertSame(cached, cache.get(id));
+    }
+
+    private List<TransactionSynchronization> suspend() {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        return synchronizations;
+    }
+
+    private void complete(int status) {
+        suspend().forEach(s -> s.afterCompletion(status));
+    }
+}
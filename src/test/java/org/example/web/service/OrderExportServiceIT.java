@@ -0,0 +1,114 @@
+package org.example.web.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.web.dto.order.OrderExportFormat;
+import org.example.web.dto.order.OrderFilter;
+import org.example.web.dto.order.OrderRequest;
+import org.example.web.dto.order.OrderResponse;
+import org.example.web.dto.orderProduct.OrderProductRequest;
+import org.example.web.model.Client;
+import org.example.web.model.OrderStatus;
+import org.example.web.model.Product;
+import org.example.web.repository.ClientRepository;
+import org.example.web.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class OrderExportServiceIT {
+    @Autowired
+    private OrderExportService exportService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void export_whenNdjson_writesOneOrderWithItemsPerLineNewestFirst() throws Exception {
+        // given
+        Client client = client("ndjson@example.com");
+        Product book = product("Export book", 10);
+        Product pen = product("Export pen", 2);
+        OrderResponse first = orderService.create(new OrderRequest(client.getId(), OrderStatus.NEW,
+                List.of(new OrderProductRequest(book.getId(), 1), new OrderProductRequest(pen.getId(), 3))));
+        OrderResponse second = orderService.create(new OrderRequest(client.getId(), OrderStatus.PAID,
+                List.of(new OrderProductRequest(pen.getId(), 1))));
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(new OrderFilter(null, null, null, null), OrderExportFormat.NDJSON, out);
+
+        // then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, rows);
+        assertEquals(2, lines.size());
+
+        JsonNode newest = objectMapper.readTree(lines.get(0));
+        JsonNode oldest = objectMapper.readTree(lines.get(1));
+        assertEquals(second.getId().toString(), newest.get("id").asText());
+        assertEquals(1, newest.get("items").size());
+        assertEquals(first.getId().toString(), oldest.get("id").asText());
+        assertEquals(2, oldest.get("items").size());
+        assertEquals(4, oldest.get("itemsTotal").asInt());
+    }
+
+    @Test
+    void export_whenCsvWithStatusFilter_writesHeaderAndMatchingRows() throws Exception {
+        // given
+        Client client = client("csv@example.com");
+        Product book = product("Csv book", 10);
+        OrderResponse paid = orderService.create(new OrderRequest(client.getId(), OrderStatus.PAID,
+                List.of(new OrderProductRequest(book.getId(), 2))));
+        orderService.create(new OrderRequest(client.getId(), OrderStatus.NEW,
+                List.of(new OrderProductRequest(book.getId(), 1))));
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(new OrderFilter("PAID", null, null, null), OrderExportFormat.CSV, out);
+
+        // then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1, rows);
+        assertEquals(List.of(OrderExportService.CSV_HEADER, lines.get(1)), lines);
+        assertTrue(lines.get(1).startsWith(paid.getId() + ","));
+        assertTrue(lines.get(1).contains(",PAID," + client.getId() + ",2,"));
+    }
+
+    private Client client(String email) {
+        return clientRepository.save(Client.builder()
+                .firstName("Export")
+                .lastName("Client")
+                .email(email)
+                .phone("+79001234567")
+                .build());
+    }
+
+    private Product product(String name, long price) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .description(name)
+                .price(BigDecimal.valueOf(price))
+                .build());
+    }
+}
@@ -1,26 +1,38 @@
 package org.example.web.service;
 
+import jakarta.persistence.EntityManager;
+import org.example.web.dto.CountMode;
+import org.example.web.dto.CursorPage;
+import org.example.web.dto.order.OrderBatchResponse;
+import org.example.web.dto.order.OrderBatchResult;
+import org.example.web.dto.order.OrderBulkStatusRequest;
+import org.example.web.dto.order.OrderBulkStatusResponse;
 import org.example.web.dto.order.OrderFilter;
 import org.example.web.dto.order.OrderRequest;
 import org.example.web.dto.order.OrderResponse;
 import org.example.web.dto.orderProduct.OrderProductRequest;
+import org.example.web.dto.product.ProductRequest;
 import org.example.web.exception.DuplicateProductInOrderException;
 import org.example.web.exception.NotFoundException;
+import org.example.web.exception.PreconditionFailedException;
 import org.example.web.model.Client;
 import org.example.web.model.Order;
 import org.example.web.model.OrderProduct;
 import org.example.web.model.OrderStatus;
 import org.example.web.model.Product;
 import org.example.web.repository.ClientRepository;
+import org.example.web.repository.OrderBulkRepository;
 import org.example.web.repository.OrderProductRepository;
 import org.example.web.repository.OrderRepository;
 import org.example.web.repository.ProductRepository;
+import org.example.web.util.ETags;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,8 +40,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.example.web.support.QueryCountAssertions.assertQueryCount;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -39,6 +53,9 @@ class OrderServiceIT {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private ProductService productService;
+
     @Autowired
     private ClientRepository clientRepository;
 
@@ -48,9 +65,15 @@ class OrderServiceIT {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderBulkRepository bulkRepository;
+
     @Autowired
     private OrderProductRepository orderProductRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void createOrder_whenValidRequest_savesSuccessfully() {
         // given
@@ -172,6 +195,341 @@ class OrderServiceIT {
         assertTrue(exception.getMessage().contains(product.getId().toString()));
     }
 
+    @Test
+    void itemChanges_whenAddedChangedRemoved_keepTotalsInSync() {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Nina")
+                .lastName("Gray")
+                .email("nina.gray@example.com")
+                .phone("+79001230000")
+                .build());
+
+        Product book = productRepository.save(Product.builder()
+                .name("Atlas")
+                .description("World atlas")
+                .price(new BigDecimal("10.00"))
+                .build());
+        Product pen = productRepository.save(Product.builder()
+                .name("Marker")
+                .description("Black marker")
+                .price(new BigDecimal("2.50"))
+                .build());
+
+        OrderResponse created = orderService.create(new OrderRequest(
+                client.getId(),
+                OrderStatus.NEW,
+                List.of(new OrderProductRequest(book.getId(), 2))
+        ));
+        assertEquals(2, created.getItemsTotal());
+        assertEquals(0, new BigDecimal("20.00").compareTo(created.getTotalAmount()));
+
+        // when + then
+        OrderResponse added = orderService.addProduct(created.getId(), new OrderProductRequest(pen.getId(), 4));
+        assertEquals(6, added.getItemsTotal());
+        assertEquals(0, new BigDecimal("30.00").compareTo(added.getTotalAmount()));
+
+        OrderResponse changed = orderService.changeProductQuantity(created.getId(), book.getId(), 1);
+        assertEquals(5, changed.getItemsTotal());
+        assertEquals(0, new BigDecimal("20.00").compareTo(changed.getTotalAmount()));
+
+        OrderResponse removed = orderService.removeProduct(created.getId(), pen.getId());
+        assertEquals(1, removed.getItemsTotal());
+        assertEquals(0, new BigDecimal("10.00").compareTo(removed.getTotalAmount()));
+        assertEquals(1, removed.getItems().size());
+    }
+
+    @Test
+    void productRepriced_whenOrderRead_itemPricesStillAddUpToTotal() {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Olga")
+                .lastName("Brown")
+                .email("olga.brown@example.com")
+                .phone("+79001230001")
+                .build());
+        Product lamp = productRepository.save(Product.builder()
+                .name("Desk lamp")
+                .description("LED desk lamp")
+                .price(new BigDecimal("40.00"))
+                .build());
+        OrderResponse created = orderService.create(new OrderRequest(
+                client.getId(),
+                OrderStatus.NEW,
+                List.of(new OrderProductRequest(lamp.getId(), 3))
+        ));
+
+        // when
+        productService.update(lamp.getId(), new ProductRequest("Desk lamp", "LED desk lamp", new BigDecimal("55.00")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        OrderResponse single = orderService.getOne(created.getId());
+        OrderResponse listed = orderService.findAll(new OrderFilter(null, null, null, lamp.getId()), PageRequest.of(0, 10))
+                .getContent().get(0);
+        for (OrderResponse order : List.of(single, listed)) {
+            assertEquals(0, new BigDecimal("40.00").compareTo(order.getItems().get(0).getPrice()));
+            BigDecimal itemsSum = order.getItems().stream()
+                    .map(i -> i.getPrice().multiply(BigDecimal.valueOf(i.getQuantity())))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertEquals(0, itemsSum.compareTo(order.getTotalAmount()));
+        }
+    }
+
+    @Test
+    void addProduct_whenItemsNotLoaded_insertsDirectlyAndRejectsDuplicate() {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Ivan")
+                .lastName("Stone")
+                .email("ivan.stone@example.com")
+                .phone("+79001231111")
+                .build());
+
+        Product book = productRepository.save(Product.builder()
+                .name("Ledger")
+                .description("Account ledger")
+                .price(new BigDecimal("7.00"))
+                .build());
+        Product pen = productRepository.save(Product.builder()
+                .name("Stamp")
+                .description("Rubber stamp")
+                .price(new BigDecimal("1.50"))
+                .build());
+
+        OrderResponse created = orderService.create(new OrderRequest(
+                client.getId(),
+                OrderStatus.NEW,
+                List.of(new OrderProductRequest(book.getId(), 1))
+        ));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        OrderResponse added = orderService.addProduct(created.getId(), new OrderProductRequest(pen.getId(), 2));
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        assertEquals(2, added.getItems().size());
+        assertEquals(3, added.getItemsTotal());
+        assertEquals(0, new BigDecimal("10.00").compareTo(added.getTotalAmount()));
+
+        assertThrows(DuplicateProductInOrderException.class,
+                () -> orderService.addProduct(created.getId(), new OrderProductRequest(pen.getId(), 1)));
+    }
+
+    @Test
+    void updateStatus_whenVersionChecked_bumpsVersionAndRejectsStaleIfMatch() {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Petr")
+                .lastName("Vale")
+                .email("petr.vale@example.com")
+                .phone("+79001232222")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Binder")
+                .description("Ring binder")
+                .price(new BigDecimal("4.00"))
+                .build());
+        OrderResponse created = orderService.create(new OrderRequest(
+                client.getId(),
+                OrderStatus.NEW,
+                List.of(new OrderProductRequest(product.getId(), 1))
+        ));
+        long version = created.getVersion();
+
+        // when
+        OrderResponse updated = orderService.updateStatus(created.getId(), OrderStatus.PROCESSING, version, true);
+
+        // then
+        assertEquals(version + 1, updated.getVersion());
+        assertEquals(version + 1, orderService.version(created.getId()));
+        assertThrows(PreconditionFailedException.class,
+                () -> orderService.updateStatus(created.getId(), OrderStatus.COMPLETED, version, true));
+    }
+
+    @Test
+    void versionWithProducts_whenProductRenamed_changesOrderETag() {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Pavel")
+                .lastName("White")
+                .email("pavel.white@example.com")
+                .phone("+79001230002")
+                .build());
+        Product mug = productRepository.save(Product.builder()
+                .name("Mug")
+                .description("Ceramic mug")
+                .price(new BigDecimal("7.00"))
+                .build());
+        UUID orderId = orderService.create(new OrderRequest(
+                client.getId(),
+                OrderStatus.NEW,
+                List.of(new OrderProductRequest(mug.getId(), 1))
+        )).getId();
+        entityManager.flush();
+        entityManager.clear();
+        String before = ETags.of(orderService.versionWithProducts(orderId));
+        assertEquals(before, ETags.of(orderService.getOne(orderId)));
+
+        // when
+        productService.update(mug.getId(), new ProductRequest("Tea mug", "Ceramic mug", new BigDecimal("7.00")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        String after = ETags.of(orderService.versionWithProducts(orderId));
+        assertNotEquals(before, after);
+        assertEquals(after, ETags.of(orderService.getOne(orderId)));
+    }
+
+    @Test
+    void updateStatuses_whenIdsGiven_updatesInOneStatementAndCountsSkipped() {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Lev")
+                .lastName("Crane")
+                .email("lev.crane@example.com")
+                .phone("+79001233333")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Crate")
+                .description("Wooden crate")
+                .price(new BigDecimal("12.00"))
+                .build());
+        List<OrderProductRequest> items = List.of(new OrderProductRequest(product.getId(), 1));
+        OrderResponse first = orderService.create(new OrderRequest(client.getId(), OrderStatus.NEW, items));
+        OrderResponse second = orderService.create(new OrderRequest(client.getId(), OrderStatus.PROCESSING, items));
+        OrderResponse done = orderService.create(new OrderRequest(client.getId(), OrderStatus.COMPLETED, items));
+
+        // when
+        OrderBulkStatusResponse response = orderService.updateStatuses(new OrderBulkStatusRequest(
+                List.of(first.getId(), second.getId(), done.getId(), UUID.randomUUID()),
+                null,
+                OrderStatus.COMPLETED));
+        entityManager.clear();
+
+        // then
+        assertEquals(2, response.updated());
+        assertEquals(1, response.skipped());
+        assertEquals(1, response.unmatched());
+
+        OrderResponse reloaded = orderService.getOne(first.getId());
+        assertEquals(OrderStatus.COMPLETED, reloaded.getStatus());
+        assertEquals(first.getVersion() + 1, reloaded.getVersion());
+        assertEquals(done.getVersion(), orderService.getOne(done.getId()).getVersion());
+    }
+
+    @Test
+    void updateStatuses_whenFilterGiven_updatesOnlyMatchingStatus() {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Mila")
+                .lastName("Frost")
+                .email("mila.frost@example.com")
+                .phone("+79001234444")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Pallet")
+                .description("Euro pallet")
+                .price(new BigDecimal("20.00"))
+                .build());
+        List<OrderProductRequest> items = List.of(new OrderProductRequest(product.getId(), 1));
+        OrderResponse fresh = orderService.create(new OrderRequest(client.getId(), OrderStatus.NEW, items));
+        OrderResponse inWork = orderService.create(new OrderRequest(client.getId(), OrderStatus.PROCESSING, items));
+
+        // when
+        OrderBulkStatusResponse response = orderService.updateStatuses(new OrderBulkStatusRequest(
+                null,
+                new OrderFilter("NEW", null, null, product.getId()),
+                OrderStatus.CANCELED));
+        entityManager.clear();
+
+        // then
+        assertEquals(1, response.updated());
+        assertEquals(0, response.skipped());
+        assertEquals(OrderStatus.CANCELED, orderService.getOne(fresh.getId()).getStatus());
+        assertEquals(OrderStatus.PROCESSING, orderService.getOne(inWork.getId()).getStatus());
+    }
+
+    @Test
+    void bulkUpdateStatus_whenFilterMatchesMoreThanLimit_updatesNothing() {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Rita")
+                .lastName("Stone")
+                .email("rita.stone@example.com")
+                .phone("+79001235555")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Barrel")
+                .description("Oak barrel")
+                .price(new BigDecimal("30.00"))
+                .build());
+        List<OrderProductRequest> items = List.of(new OrderProductRequest(product.getId(), 1));
+        OrderResponse first = orderService.create(new OrderRequest(client.getId(), OrderStatus.NEW, items));
+        OrderResponse second = orderService.create(new OrderRequest(client.getId(), OrderStatus.NEW, items));
+        entityManager.flush();
+
+        // when
+        OrderBulkRepository.StatusUpdate result = bulkRepository.updateStatus(
+                null, new OrderFilter("NEW", null, null, product.getId()), OrderStatus.CANCELED, 1);
+        entityManager.clear();
+
+        // then
+        assertEquals(2, result.matched());
+        assertTrue(result.updated().isEmpty());
+        assertEquals(OrderStatus.NEW, orderRepository.findById(first.getId()).orElseThrow().getStatus());
+        assertEquals(OrderStatus.NEW, orderRepository.findById(second.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void createBatch_whenSomeOrdersInvalid_createsValidAndReportsRejected() {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Olga")
+                .lastName("Fox")
+                .email("olga.fox@example.com")
+                .phone("+79001239999")
+                .build());
+
+        Product product = productRepository.save(Product.builder()
+                .name("Folder")
+                .description("Plastic folder")
+                .price(new BigDecimal("3.00"))
+                .build());
+
+        List<OrderRequest> requests = List.of(
+                new OrderRequest(client.getId(), OrderStatus.NEW, List.of(new OrderProductRequest(product.getId(), 2))),
+                new OrderRequest(UUID.randomUUID(), OrderStatus.NEW, List.of(new OrderProductRequest(product.getId(), 1))),
+                new OrderRequest(client.getId(), OrderStatus.NEW, List.of(new OrderProductRequest(UUID.randomUUID(), 1))),
+                new OrderRequest(client.getId(), OrderStatus.NEW, List.of(new OrderProductRequest(product.getId(), 0))),
+                new OrderRequest(client.getId(), OrderStatus.PROCESSING, List.of(new OrderProductRequest(product.getId(), 5)))
+        );
+
+        // when
+        OrderBatchResponse response = orderService.createBatch(requests);
+
+        // then
+        assertEquals(2, response.created());
+        assertEquals(3, response.rejected());
+        assertEquals(5, response.results().size());
+
+        assertEquals(OrderBatchResult.Status.CREATED, response.results().get(0).status());
+        assertTrue(response.results().get(1).error().contains("Client"));
+        assertTrue(response.results().get(2).error().contains("Product"));
+        assertTrue(response.results().get(3).error().contains("quantity"));
+        assertEquals(OrderBatchResult.Status.CREATED, response.results().get(4).status());
+
+        OrderResponse stored = orderService.getOne(response.results().get(4).orderId());
+        assertEquals(OrderStatus.PROCESSING, stored.getStatus());
+        assertEquals(5, stored.getItemsTotal());
+        assertEquals(0, new BigDecimal("15.00").compareTo(stored.getTotalAmount()));
+    }
+
     @Test
     void updateStatus_whenValidRequest_updatesStatusSuccessfully() {
         // given
@@ -503,6 +861,56 @@ class OrderServiceIT {
         assertEquals(OrderStatus.COMPLETED, page.getContent().get(0).getStatus());
     }
 
+    @Test
+    void findAll_whenFilteredByProduct_returnsOrdersWithAllItems() {
+        // given
+        Client client = clientRepository.save(
+                Client.builder()
+                        .firstName("Eve")
+                        .lastName("Black")
+                        .email("eve@example.com")
+                        .phone("+79002221100")
+                        .build()
+        );
+
+        Product pen = productRepository.save(
+                Product.builder()
+                        .name("Pencil")
+                        .description("HB")
+                        .price(BigDecimal.valueOf(1.20))
+                        .build()
+        );
+        Product eraser = productRepository.save(
+                Product.builder()
+                        .name("Eraser")
+                        .description("White")
+                        .price(BigDecimal.valueOf(0.80))
+                        .build()
+        );
+
+        orderService.create(new OrderRequest(
+                client.getId(),
+                OrderStatus.NEW,
+                List.of(new OrderProductRequest(pen.getId(), 2), new OrderProductRequest(eraser.getId(), 3))
+        ));
+        orderService.create(new OrderRequest(
+                client.getId(),
+                OrderStatus.NEW,
+                List.of(new OrderProductRequest(eraser.getId(), 1))
+        ));
+
+        OrderFilter filter = new OrderFilter(null, null, null, pen.getId());
+
+        // when
+        Page<OrderResponse> page = orderService.findAll(filter, PageRequest.of(0, 10, Sort.by("createdAt").descending()));
+
+        // then
+        assertEquals(1, page.getTotalElements());
+        OrderResponse found = page.getContent().get(0);
+        assertEquals(2, found.getItems().size());
+        assertEquals(5, found.getItemsTotal());
+    }
+
     @Test
     void findAll_whenNoOrders_returnsEmptyPage() {
         // given
@@ -516,4 +924,199 @@ class OrderServiceIT {
         assertTrue(page.isEmpty());
         assertEquals(0, page.getTotalElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAll_whenCountNone_returnsSlicesWithHasNextOnly() {
+        // given
+        createOrders("Nina", "nina@example.com", "Eraser", 3);
+        OrderFilter filter = new OrderFilter(null, null, null, null);
+
+        // when
+        Slice<OrderResponse> first = orderService.findAll(filter, PageRequest.of(0, 2, Sort.by("createdAt").descending()), CountMode.NONE);
+        Slice<OrderResponse> last = orderService.findAll(filter, PageRequest.of(1, 2, Sort.by("createdAt").descending()), CountMode.NONE);
+
+        // then
+        assertFalse(first instanceof Page);
+        assertEquals(2, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(1, last.getNumberOfElements());
+        assertFalse(last.hasNext());
+        assertTrue(first.getContent().stream().noneMatch(last.getContent()::contains));
+    }
+
+    @Test
+    void findAll_whenCountEstimate_neverReportsLessThanSeenAndIsExactOnLastPage() {
+        // given
+        createOrders("Olga", "olga@example.com", "Ruler", 3);
+        OrderFilter filter = new OrderFilter(null, null, null, null);
+
+        // when
+        Page<OrderResponse> first = (Page<OrderResponse>) orderService.findAll(filter, PageRequest.of(0, 2), CountMode.ESTIMATE);
+        Page<OrderResponse> last = (Page<OrderResponse>) orderService.findAll(filter, PageRequest.of(1, 2), CountMode.ESTIMATE);
+
+        // then
+        assertTrue(first.hasNext());
+        assertTrue(first.getTotalElements() >= 3);
+        assertEquals(3, last.getTotalElements());
+    }
+
+    @Test
+    void findByClientId_loadsItemsOfWholePageWithConstantNumberOfQueries() {
+        // given
+        UUID fewOrders = createOrders("Pavel", "pavel@example.com", "Stapler", 1);
+        UUID manyOrders = createOrders("Rita", "rita@example.com", "Marker", 5);
+        entityManager.flush();
+        entityManager.clear();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+
+        // when: existsById + страница заказов + позиции всей страницы; count не нужен - страница неполная
+        Page<OrderResponse> few = assertQueryCount(3, () -> orderService.findByClientId(fewOrders, pageable));
+        entityManager.clear();
+        Page<OrderResponse> many = assertQueryCount(3, () -> orderService.findByClientId(manyOrders, pageable));
+
+        // then
+        assertEquals(1, few.getNumberOfElements());
+        assertEquals(5, many.getNumberOfElements());
+        assertTrue(many.getContent().stream().allMatch(o -> o.getItems().size() == 1));
+    }
+
+    private UUID createOrders(String firstName, String email, String productName, int count) {
+        Client client = clientRepository.save(Client.builder()
+                .firstName(firstName)
+                .lastName("Counter")
+                .email(email)
+                .phone("+79001112244")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name(productName)
+                .description("Stationery")
+                .price(BigDecimal.valueOf(1.50))
+                .build());
+        for (int i = 0; i < count; i++) {
+            orderService.create(new OrderRequest(client.getId(), OrderStatus.NEW,
+                    List.of(new OrderProductRequest(product.getId(), 1))));
+        }
+        return client.getId();
+    }
+
+    @Test
+    void scroll_whenMoreOrdersThanWindow_returnsNextCursorUntilExhausted() {
+        // given
+        Client client = clientRepository.save(
+                Client.builder()
+                        .firstName("Carl")
+                        .lastName("White")
+                        .email("carl@example.com")
+                        .phone("+79004443322")
+                        .build()
+        );
+
+        Product product = productRepository.save(
+                Product.builder()
+                        .name("Stapler")
+                        .description("Office stapler")
+                        .price(BigDecimal.valueOf(7.50))
+                        .build()
+        );
+
+        for (int i = 0; i < 3; i++) {
+            orderService.create(new OrderRequest(
+                    client.getId(),
+                    OrderStatus.NEW,
+                    List.of(new OrderProductRequest(product.getId(), i + 1))
+            ));
+        }
+        OrderFilter filter = new OrderFilter(null, null, null, null);
+
+        // when
+        CursorPage<OrderResponse> first = orderService.scroll(filter, null, 2);
+        CursorPage<OrderResponse> second = orderService.scroll(filter, first.nextCursor(), 2);
+
+        // then
+        assertEquals(2, first.content().size());
+        assertTrue(first.hasNext());
+        assertNotNull(first.nextCursor());
+
+        assertEquals(1, second.content().size());
+        assertFalse(second.hasNext());
+        assertNull(second.nextCursor());
+
+        Set<UUID> seen = new HashSet<>();
+        first.content().forEach(o -> seen.add(o.getId()));
+        second.content().forEach(o -> seen.add(o.getId()));
+        assertEquals(3, seen.size());
+    }
+
+    @Test
+    void createAndDelete_maintainClientOrdersCount() {
+        // given
+        Client client = clientRepository.save(Client.builder()
+                .firstName("Counter")
+                .lastName("Client")
+                .email("counter@example.com")
+                .phone("+79001230000")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Stamp")
+                .description("Rubber stamp")
+                .price(new BigDecimal("4.00"))
+                .build());
+        OrderRequest request = new OrderRequest(client.getId(), OrderStatus.NEW,
+                List.of(new OrderProductRequest(product.getId(), 1)));
+
+        // when
+        OrderResponse single = orderService.create(request);
+        orderService.createBatch(List.of(request, request));
+        orderService.delete(single.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        Client stored = clientRepository.findById(client.getId()).orElseThrow();
+        assertEquals(2L, stored.getOrdersCount());
+    }
+
+    @Test
+    void scrollByClient_whenClientHasMoreOrdersThanWindow_returnsOnlyTheirOrdersWithItems() {
+        // given
+        Client alice = clientRepository.save(Client.builder()
+                .firstName("Alice")
+                .lastName("Scroll")
+                .email("alice.scroll@example.com")
+                .phone("+79001231111")
+                .build());
+        Client bob = clientRepository.save(Client.builder()
+                .firstName("Bob")
+                .lastName("Scroll")
+                .email("bob.scroll@example.com")
+                .phone("+79001232222")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Clip")
+                .description("Paper clip")
+                .price(new BigDecimal("0.50"))
+                .build());
+        Set<UUID> aliceOrders = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            aliceOrders.add(orderService.create(new OrderRequest(alice.getId(), OrderStatus.NEW,
+                    List.of(new OrderProductRequest(product.getId(), i + 1)))).getId());
+        }
+        orderService.create(new OrderRequest(bob.getId(), OrderStatus.NEW,
+                List.of(new OrderProductRequest(product.getId(), 1))));
+        entityManager.clear();
+
+        // when
+        CursorPage<OrderResponse> first = orderService.scrollByClient(alice.getId(), null, 2);
+        CursorPage<OrderResponse> second = orderService.scrollByClient(alice.getId(), first.nextCursor(), 2);
+
+        // then
+        assertTrue(first.hasNext());
+        assertFalse(second.hasNext());
+        Set<UUID> seen = new HashSet<>();
+        first.content().forEach(o -> seen.add(o.getId()));
+        second.content().forEach(o -> seen.add(o.getId()));
+        assertEquals(aliceOrders, seen);
+        assertTrue(first.content().stream().allMatch(o -> o.getItems().size() == 1));
+        assertThrows(NotFoundException.class, () -> orderService.scrollByClient(UUID.randomUUID(), null, 2));
+    }
+}
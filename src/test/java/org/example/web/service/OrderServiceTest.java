@@ -1,5 +1,6 @@
 package org.example.web.service;
 
+import org.example.web.dto.CountMode;
 import org.example.web.dto.order.OrderFilter;
 import org.example.web.dto.order.OrderRequest;
 import org.example.web.dto.order.OrderResponse;
@@ -15,10 +16,13 @@ import org.example.web.model.OrderStatus;
 import org.example.web.model.Product;
 import org.example.web.repository.ClientRepository;
 import org.example.web.repository.OrderProductRepository;
+import org.example.web.repository.OrderReadRepository;
 import org.example.web.repository.OrderRepository;
 import org.example.web.repository.ProductRepository;
+import org.example.web.repository.SalesAnalyticsRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -27,16 +31,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
@@ -50,6 +58,8 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepo;
     @Mock
+    private OrderReadRepository readRepo;
+    @Mock
     private ClientRepository clientRepo;
     @Mock
     private ProductRepository productRepo;
@@ -57,6 +67,12 @@ class OrderServiceTest {
     private OrderProductRepository orderProductRepo;
     @Mock
     private OrderMapper mapper;
+    @Mock
+    private OrderCache cache;
+    @Mock
+    private SalesAnalyticsRepository analyticsRepo;
+    @Mock
+    private ProductCatalog productCatalog;
 
     @InjectMocks
     private OrderService orderService;
@@ -73,6 +89,7 @@ class OrderServiceTest {
         Product product = new Product();
         product.setId(productId);
         product.setName("Book");
+        product.setPrice(BigDecimal.valueOf(19.99));
 
         OrderProduct orderProduct = new OrderProduct();
         orderProduct.setProduct(product);
@@ -95,7 +112,6 @@ class OrderServiceTest {
         when(clientRepo.findById(clientId)).thenReturn(Optional.of(client));
         when(productRepo.findAllById(any())).thenReturn(List.of(product));
         when(orderRepo.save(any(Order.class))).thenReturn(order);
-        when(orderRepo.findDetailedById(order.getId())).thenReturn(Optional.of(order));
         when(mapper.toResponse(order)).thenReturn(expectedResponse);
 
         OrderRequest request = new OrderRequest(
@@ -112,10 +128,45 @@ class OrderServiceTest {
         assertEquals(expectedResponse.getClientId(), response.getClientId());
         assertEquals(expectedResponse.getItemsTotal(), response.getItemsTotal());
         verify(orderRepo).save(any(Order.class));
-        verify(orderRepo).findDetailedById(order.getId());
+        verify(orderRepo, never()).findDetailedById(any());
         verify(mapper).toResponse(order);
     }
 
+    @Test
+    void createOrder_whenProductsInCatalog_pricesItemsWithoutQueryingProducts() {
+        // given
+        UUID clientId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+
+        Client client = new Client();
+        client.setId(clientId);
+
+        Product product = Product.builder().id(productId).name("Book").price(BigDecimal.valueOf(19.99)).version(0L).build();
+
+        when(clientRepo.findById(clientId)).thenReturn(Optional.of(client));
+        when(productCatalog.find(Set.of(productId))).thenReturn(Map.of(productId, product));
+        when(orderRepo.save(any(Order.class))).thenAnswer(inv -> {
+            Order order = inv.getArgument(0);
+            order.setId(UUID.randomUUID());
+            return order;
+        });
+
+        OrderRequest request = new OrderRequest(
+                clientId,
+                OrderStatus.NEW,
+                List.of(new OrderProductRequest(productId, 2))
+        );
+
+        // when
+        orderService.create(request);
+
+        // then
+        ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepo).save(saved.capture());
+        assertEquals(0, new BigDecimal("39.98").compareTo(saved.getValue().getTotalAmount()));
+        verify(productRepo, never()).findAllById(any());
+    }
+
     @Test
     void createOrder_whenClientNotFound_throwsNotFoundException() {
         UUID fakeClientId = UUID.randomUUID();
@@ -170,8 +221,6 @@ class OrderServiceTest {
                 .status(OrderStatus.COMPLETED)
                 .build();
 
-        when(orderRepo.findById(orderId)).thenReturn(Optional.of(order));
-
         when(orderRepo.findDetailedById(orderId)).thenReturn(Optional.of(order));
         when(mapper.toResponse(order)).thenReturn(expectedResponse);
 
@@ -180,19 +229,67 @@ class OrderServiceTest {
 
         // then
         assertEquals(OrderStatus.COMPLETED, response.getStatus());
-        verify(orderRepo).findById(orderId);
+        assertEquals(OrderStatus.COMPLETED, order.getStatus());
+        verify(orderRepo).findDetailedById(orderId);
         verify(mapper).toResponse(order);
+        verify(cache).put(orderId, expectedResponse);
+        verify(analyticsRepo, never()).applyOrders(anyList(), anyInt());
+    }
+
+    @Test
+    void updateStatus_whenOrderCanceled_retractsItFromSalesAnalytics() {
+        // given
+        UUID orderId = UUID.randomUUID();
+
+        Order order = new Order();
+        order.setId(orderId);
+        order.setStatus(OrderStatus.PROCESSING);
+
+        when(orderRepo.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepo.findVersionRowsById(orderId)).thenReturn(List.of(versionRow(1L, null, null)));
+
+        // when
+        orderService.updateStatus(orderId, OrderStatus.CANCELED, null, false);
+
+        // then
+        verify(analyticsRepo).applyOrders(List.of(orderId), -1);
+    }
+
+    @Test
+    void updateStatus_whenMinimalReturnRequested_skipsItemsAndMapping() {
+        // given
+        UUID orderId = UUID.randomUUID();
+
+        Order order = new Order();
+        order.setId(orderId);
+        order.setStatus(OrderStatus.NEW);
+
+        UUID productId = UUID.randomUUID();
+
+        when(orderRepo.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepo.findVersionRowsById(orderId)).thenReturn(List.of(versionRow(4L, productId, "Bread")));
+
+        // when
+        OrderResponse response = orderService.updateStatus(orderId, OrderStatus.COMPLETED, null, false);
+
+        // then
+        assertEquals(4L, response.getVersion());
+        assertEquals(List.of(OrderProductResponse.builder().productId(productId).name("Bread").build()),
+                response.getItems());
+        assertEquals(OrderStatus.COMPLETED, order.getStatus());
+        verify(orderRepo, never()).findDetailedById(any());
+        verify(mapper, never()).toResponse(any());
+        verify(cache).evict(orderId);
     }
 
     @Test
     void updateStatus_whenOrderNotFound_throwsNotFoundException() {
         UUID fakeOrderId = UUID.randomUUID();
-        when(orderRepo.findById(fakeOrderId)).thenReturn(Optional.empty());
+        when(orderRepo.findDetailedById(fakeOrderId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
                 () -> orderService.updateStatus(fakeOrderId, OrderStatus.COMPLETED));
 
-        verify(orderRepo, never()).findDetailedById(any());
         verify(mapper, never()).toResponse(any());
     }
 
@@ -217,7 +314,6 @@ class OrderServiceTest {
                 .status(OrderStatus.NEW)
                 .build();
 
-        when(orderRepo.findById(orderId)).thenReturn(Optional.of(order));
         when(orderRepo.findDetailedById(orderId)).thenReturn(Optional.of(order));
         when(mapper.toResponse(order)).thenReturn(expectedResponse);
 
@@ -242,6 +338,7 @@ class OrderServiceTest {
         orderService.delete(orderId);
 
         // then
+        verify(analyticsRepo).applyOrders(List.of(orderId), -1);
         verify(orderRepo).delete(order);
     }
 
@@ -308,6 +405,7 @@ class OrderServiceTest {
                 .itemsTotal(2)
                 .build();
 
+        when(cache.ticket()).thenReturn(7L);
         when(orderRepo.findDetailedById(orderId)).thenReturn(Optional.of(order));
         when(mapper.toResponse(order)).thenReturn(expectedResponse);
 
@@ -320,6 +418,22 @@ class OrderServiceTest {
 
         verify(orderRepo).findDetailedById(orderId);
         verify(mapper).toResponse(order);
+        verify(cache).putLoaded(orderId, expectedResponse, 7L);
+    }
+
+    @Test
+    void getOne_whenOrderCached_doesNotHitDatabase() {
+        // given
+        UUID orderId = UUID.randomUUID();
+        OrderResponse cached = OrderResponse.builder().id(orderId).status(OrderStatus.NEW).build();
+        when(cache.get(orderId)).thenReturn(cached);
+
+        // when
+        OrderResponse actual = orderService.getOne(orderId);
+
+        // then
+        assertSame(cached, actual);
+        verify(orderRepo, never()).findDetailedById(any());
     }
 
     @Test
@@ -336,47 +450,23 @@ class OrderServiceTest {
     }
 
     @Test
-    void findAll_whenOrdersExist_returnsPageOfResponses() {
+    void findAll_whenOrdersExist_returnsPageFromProjection() {
         Pageable pageable = PageRequest.of(0, 10);
         OrderFilter filter = new OrderFilter(null, null, null, null);
 
-        UUID clientId = UUID.randomUUID();
-        UUID productId = UUID.randomUUID();
         UUID orderId = UUID.randomUUID();
-
-        Client client = new Client();
-        client.setId(clientId);
-
-        Product product = new Product();
-        product.setId(productId);
-        product.setName("Book");
-        product.setPrice(BigDecimal.valueOf(19.99));
-
-        Order order = Order.builder()
-                .id(orderId)
-                .client(client)
-                .status(OrderStatus.NEW)
-                .items(Set.of(
-                        OrderProduct.builder()
-                                .product(product)
-                                .quantity(2)
-                                .build()
-                ))
-                .build();
+        UUID productId = UUID.randomUUID();
 
         OrderResponse expectedResponse = OrderResponse.builder()
                 .id(orderId)
-                .clientId(clientId)
+                .clientId(UUID.randomUUID())
                 .status(OrderStatus.NEW)
                 .items(List.of(new OrderProductResponse(productId, "Book", 2, BigDecimal.valueOf(19.99))))
                 .itemsTotal(2)
                 .build();
 
-        Page<Order> page = new PageImpl<>(List.of(order), pageable, 1);
-
-        when(orderRepo.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
-        when(orderRepo.findByIdIn(List.of(orderId))).thenReturn(List.of(order));
-        when(mapper.toResponse(order)).thenReturn(expectedResponse);
+        when(readRepo.findPage(filter, pageable))
+                .thenReturn(new PageImpl<>(List.of(expectedResponse), pageable, 1));
 
         Page<OrderResponse> result = orderService.findAll(filter, pageable);
 
@@ -385,9 +475,10 @@ class OrderServiceTest {
         assertEquals(orderId, result.getContent().get(0).getId());
         assertEquals(OrderStatus.NEW, result.getContent().get(0).getStatus());
 
-        verify(orderRepo).findAll(any(Specification.class), eq(pageable));
-        verify(orderRepo).findByIdIn(List.of(orderId));
-        verify(mapper).toResponse(order);
+        verify(readRepo).findPage(filter, pageable);
+        verify(orderRepo, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(orderRepo, never()).findByIdIn(anyList());
+        verify(mapper, never()).toResponse(any());
     }
 
     @Test
@@ -395,16 +486,14 @@ class OrderServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         OrderFilter filter = new OrderFilter(null, null, null, null);
 
-        Page<Order> emptyPage = Page.empty(pageable);
-
-        when(orderRepo.findAll(any(Specification.class), eq(pageable))).thenReturn(emptyPage);
+        when(readRepo.findPage(filter, pageable)).thenReturn(Page.empty(pageable));
 
         Page<OrderResponse> result = orderService.findAll(filter, pageable);
 
         assertTrue(result.isEmpty());
         assertEquals(0, result.getTotalElements());
 
-        verify(orderRepo).findAll(any(Specification.class), eq(pageable));
+        verify(readRepo).findPage(filter, pageable);
     }
 
     @Test
@@ -413,7 +502,7 @@ class OrderServiceTest {
         OrderFilter filter = new OrderFilter(null, null, null, null);
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(orderRepo.findAll(any(Specification.class), eq(pageable)))
+        when(readRepo.findPage(filter, pageable))
                 .thenThrow(new RuntimeException("Database error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -425,4 +514,37 @@ class OrderServiceTest {
         verify(mapper, never()).toResponse(any());
     }
 
-}
\ No newline at end of file
+    @Test
+    void findAll_whenCountNone_readsSliceWithoutCounting() {
+        Pageable pageable = PageRequest.of(0, 10);
+        OrderFilter filter = new OrderFilter(null, null, null, null);
+
+        when(readRepo.findSlice(filter, pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, true));
+
+        Slice<OrderResponse> result = orderService.findAll(filter, pageable, CountMode.NONE);
+
+        assertTrue(result.hasNext());
+        verify(readRepo, never()).findPage(any(), any());
+        verify(readRepo, never()).count(any());
+        verify(readRepo, never()).estimateCount(any());
+    }
+
+    private static OrderRepository.VersionRow versionRow(Long version, UUID productId, String productName) {
+        return new OrderRepository.VersionRow() {
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public UUID getProductId() {
+                return productId;
+            }
+
+            @Override
+            public String getProductName() {
+                return productName;
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.web.service;
+
+import org.example.web.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductCatalogTest {
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final MutableClock clock = new MutableClock();
+    private final ProductCatalog catalog = new ProductCatalog(jdbc, Duration.ofMinutes(5), clock);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(jdbc.query(anyString(), any(RowMapper.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void put_afterReload_servesDetachedCopyWithPriceAndVersion() {
+        // given
+        UUID id = UUID.randomUUID();
+        catalog.reload();
+
+        // when
+        catalog.put(product(id, "19.99", 0));
+
+        // then
+        Product found = catalog.find(Set.of(id)).get(id);
+        assertEquals(new BigDecimal("19.99"), found.getPrice());
+        assertEquals(0L, found.getVersion());
+        assertNotSame(found, catalog.find(Set.of(id)).get(id));
+    }
+
+    @Test
+    void put_whenVersionNotNewer_keepsCurrentEntry() {
+        // given
+        UUID id = UUID.randomUUID();
+        catalog.reload();
+        catalog.put(product(id, "12.00", 2));
+
+        // when
+        catalog.put(product(id, "10.00", 1));
+
+        // then
+        assertEquals(new BigDecimal("12.00"), catalog.find(Set.of(id)).get(id).getPrice());
+    }
+
+    @Test
+    void remove_dropsEntry() {
+        // given
+        UUID id = UUID.randomUUID();
+        catalog.reload();
+        catalog.put(product(id, "5.00", 0));
+
+        // when
+        catalog.remove(id);
+
+        // then
+        assertTrue(catalog.find(Set.of(id)).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void find_whenSnapshotOlderThanMaxStaleness_reloadsBeforeAnswering() {
+        // given
+        UUID id = UUID.randomUUID();
+        catalog.reload();
+        catalog.put(product(id, "5.00", 0));
+
+        // when
+        clock.advance(Duration.ofMinutes(6));
+
+        // then: перечитанный из базы (пустой) каталог не знает о товаре
+        assertTrue(catalog.find(Set.of(id)).isEmpty());
+        verify(jdbc, times(2)).query(anyString(), any(RowMapper.class));
+    }
+
+    private static Product product(UUID id, String price, long version) {
+        return Product.builder().id(id).name("Book " + id).price(new BigDecimal(price)).version(version).build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-09-10T12:00:00Z");
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
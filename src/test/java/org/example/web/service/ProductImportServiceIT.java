@@ -0,0 +1,109 @@
+package org.example.web.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.web.dto.product.ProductImportFormat;
+import org.example.web.dto.product.ProductImportResponse;
+import org.example.web.exception.InvalidImportException;
+import org.example.web.fixtures.ProductFixture;
+import org.example.web.model.Product;
+import org.example.web.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ProductImportServiceIT {
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void importCatalog_whenCsv_upsertsByCaseInsensitiveNameAndCountsSupersededAndRejected() {
+        // given
+        Product book = productRepository.saveAndFlush(ProductFixture.readyProduct());
+        productRepository.saveAndFlush(ProductFixture.defaultProduct().name("Pencil").price(BigDecimal.ONE).build());
+        String csv = """
+                name,description,price
+                BOOK,Some book,25.00
+                Pencil,Some book,1.00
+                "Pen, blue","Ink ""gel"" pen",2.50
+                Mug,,5
+                Lamp,Desk lamp,cheap
+                Chair,Old chair,10
+                chair,Office chair,12.5
+                """;
+
+        // when
+        ProductImportResponse resp = importService.importCatalog(ProductImportFormat.CSV, stream(csv));
+
+        // then
+        assertEquals(new ProductImportResponse(2, 1, 1, 1, 2), resp);
+
+        entityManager.clear();
+        Map<String, Product> byName = productRepository.findAll().stream()
+                .collect(Collectors.toMap(Product::getName, Function.identity()));
+        assertEquals(book.getId(), byName.get("BOOK").getId());
+        assertEquals(0, new BigDecimal("25.00").compareTo(byName.get("BOOK").getPrice()));
+        assertEquals(book.getVersion() + 1, byName.get("BOOK").getVersion());
+        assertEquals("Ink \"gel\" pen", byName.get("Pen, blue").getDescription());
+        assertEquals("Office chair", byName.get("chair").getDescription());
+        assertFalse(byName.containsKey("Mug"));
+        assertFalse(byName.containsKey("Lamp"));
+    }
+
+    @Test
+    void importCatalog_whenNdjson_skipsUnparsableLines() {
+        // given
+        productRepository.saveAndFlush(ProductFixture.readyProduct());
+        String ndjson = """
+                {"name":"Book","description":"Some book","price":19.99}
+                {"name":"Notebook","description":"A5","price":"3.40"}
+                {not json
+
+                {"name":"Stapler","description":"Metal","price":-1}
+                """;
+
+        // when
+        ProductImportResponse resp = importService.importCatalog(ProductImportFormat.NDJSON, stream(ndjson));
+
+        // then
+        assertEquals(new ProductImportResponse(1, 0, 1, 0, 2), resp);
+        entityManager.clear();
+        assertTrue(productRepository.existsByNameIgnoreCase("notebook"));
+        assertFalse(productRepository.existsByNameIgnoreCase("stapler"));
+    }
+
+    @Test
+    void importCatalog_whenCsvHasExtraColumns_throwsInvalidImport() {
+        String csv = """
+                name,description,price
+                Book,Some book,19.99,extra
+                """;
+
+        assertThrows(InvalidImportException.class,
+                () -> importService.importCatalog(ProductImportFormat.CSV, stream(csv)));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.web.service;
+
+import org.example.web.dto.product.ProductSuggestion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProductNameIndexTest {
+
+    private final ProductNameIndex index = new ProductNameIndex(mock(JdbcTemplate.class));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void suggest_returnsCaseInsensitivePrefixMatchesAlphabetically() {
+        // given
+        index.put(UUID.randomUUID(), "Notebook");
+        index.put(UUID.randomUUID(), "book stand");
+        index.put(UUID.randomUUID(), "Bookmark");
+        index.put(UUID.randomUUID(), "Boots");
+
+        // when
+        List<String> names = names(index.suggest("BOOK", 10));
+
+        // then
+        assertEquals(List.of("book stand", "Bookmark"), names);
+    }
+
+    @Test
+    void suggest_stopsAtLimit() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            index.put(UUID.randomUUID(), "Pen " + i);
+        }
+
+        // when / then
+        assertEquals(List.of("Pen 0", "Pen 1"), names(index.suggest("pen", 2)));
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void put_whenRenamed_replacesPreviousEntry() {
+        // given
+        UUID id = UUID.randomUUID();
+        index.put(id, "Mug");
+
+        // when
+        index.put(id, "Cup");
+
+        // then
+        assertTrue(index.suggest("mug", 10).isEmpty());
+        assertEquals(List.of(new ProductSuggestion(id, "Cup")), index.suggest("cu", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_dropsEntry() {
+        // given
+        UUID id = UUID.randomUUID();
+        index.put(id, "Lamp");
+
+        // when
+        index.remove(id);
+
+        // then
+        assertTrue(index.suggest("lamp", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void put_whenInTransaction_appliesOnlyAfterCommit() {
+        // given
+        UUID id = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        index.put(id, "Stapler");
+
+        // then
+        assertTrue(index.suggest("sta", 10).isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, index.suggest("sta", 10).size());
+    }
+
+    private static List<String> names(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::name).toList();
+    }
+}
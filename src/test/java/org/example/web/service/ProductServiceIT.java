@@ -0,0 +1,99 @@
+package org.example.web.service;
+
+import org.example.web.dto.CursorPage;
+import org.example.web.dto.product.ProductResponse;
+import org.example.web.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.web.fixtures.ProductFixture.defaultProduct;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ProductServiceIT {
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void search_ranksNameMatchesAboveDescriptionMatches() {
+        // given
+        save("Hardcover notebook", "Lined paper, zebrafish pattern");
+        save("Zebrafish poster", "Wall art");
+        save("Pencil", "Graphite");
+        productRepository.flush();
+
+        // when
+        List<String> names = productService.search("zebrafish", null, 10).content().stream()
+                .map(ProductResponse::getName)
+                .toList();
+
+        // then
+        assertEquals(List.of("Zebrafish poster", "Hardcover notebook"), names);
+    }
+
+    @Test
+    void search_matchesWordPrefixesAndRequiresAllWords() {
+        // given
+        save("Quokka plush toy", "Soft");
+        save("Quokka mug", "Ceramic");
+        productRepository.flush();
+
+        // when
+        List<String> names = productService.search("quok PLU", null, 10).content().stream()
+                .map(ProductResponse::getName)
+                .toList();
+
+        // then
+        assertEquals(List.of("Quokka plush toy"), names);
+    }
+
+    @Test
+    void search_whenQueryHasNoWords_returnsEmptyWindow() {
+        // when
+        CursorPage<ProductResponse> page = productService.search(" :*&|! ", null, 10);
+
+        // then
+        assertTrue(page.content().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void search_followsCursorThroughAllMatchesWithoutGapsOrDuplicates() {
+        // given
+        for (int i = 0; i < 7; i++) {
+            save("Axolotl figure " + i, "Resin");
+        }
+        productRepository.flush();
+
+        // when
+        List<String> seen = new ArrayList<>();
+        String after = null;
+        int windows = 0;
+        do {
+            CursorPage<ProductResponse> page = productService.search("axolotl", after, 3);
+            page.content().forEach(p -> seen.add(p.getName()));
+            after = page.nextCursor();
+            windows++;
+        } while (after != null);
+
+        // then
+        assertEquals(3, windows);
+        assertEquals(7, seen.size());
+        assertEquals(7, seen.stream().distinct().count());
+    }
+
+    private void save(String name, String description) {
+        productRepository.save(defaultProduct().name(name).description(description).build());
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.web.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.web.dto.analytics.ClientDailySales;
+import org.example.web.dto.analytics.DailySales;
+import org.example.web.dto.analytics.ProductSales;
+import org.example.web.dto.order.OrderBulkStatusRequest;
+import org.example.web.dto.order.OrderRequest;
+import org.example.web.dto.order.OrderResponse;
+import org.example.web.dto.orderProduct.OrderProductRequest;
+import org.example.web.exception.InvalidRangeException;
+import org.example.web.fixtures.ProductFixture;
+import org.example.web.model.Client;
+import org.example.web.model.OrderStatus;
+import org.example.web.model.Product;
+import org.example.web.repository.ClientRepository;
+import org.example.web.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SalesAnalyticsServiceIT {
+    @Autowired
+    private SalesAnalyticsService analyticsService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void orderMutations_keepAggregatesEqualToFullRebuild() {
+        // given
+        Client alice = client("alice@example.com");
+        Client bob = client("bob@example.com");
+        Product book = product("Analytics book", 10);
+        Product pen = product("Analytics pen", 2);
+
+        // when: каждая мутация заказа переносится в витрину дельтой
+        OrderResponse first = orderService.create(new OrderRequest(alice.getId(), OrderStatus.NEW,
+                List.of(new OrderProductRequest(book.getId(), 2), new OrderProductRequest(pen.getId(), 1))));
+        OrderResponse second = orderService.create(new OrderRequest(bob.getId(), OrderStatus.NEW,
+                List.of(new OrderProductRequest(pen.getId(), 5))));
+        OrderResponse third = orderService.create(new OrderRequest(bob.getId(), OrderStatus.CANCELED,
+                List.of(new OrderProductRequest(book.getId(), 7))));
+
+        orderService.addProduct(second.getId(), new OrderProductRequest(book.getId(), 1));
+        orderService.changeProductQuantity(first.getId(), pen.getId(), 3);
+        orderService.removeProduct(first.getId(), book.getId());
+        orderService.addProduct(third.getId(), new OrderProductRequest(pen.getId(), 4));
+        orderService.updateStatus(second.getId(), OrderStatus.CANCELED);
+        orderService.updateStatus(second.getId(), OrderStatus.PROCESSING);
+
+        orderService.updateStatuses(new OrderBulkStatusRequest(
+                List.of(first.getId(), third.getId()), null, OrderStatus.COMPLETED));
+        entityManager.clear();
+        orderService.createBatch(List.of(new OrderRequest(alice.getId(), OrderStatus.NEW,
+                List.of(new OrderProductRequest(pen.getId(), 10)))));
+        orderService.delete(first.getId());
+        entityManager.flush();
+
+        List<UUID> products = List.of(book.getId(), pen.getId());
+        List<UUID> clients = List.of(alice.getId(), bob.getId());
+        List<Map<String, Object>> incrementalProducts = productRows(products);
+        List<Map<String, Object>> incrementalClients = clientRows(clients);
+        analyticsService.rebuild();
+
+        // then
+        assertEquals(productRows(products), incrementalProducts);
+        assertEquals(clientRows(clients), incrementalClients);
+
+        LocalDate today = LocalDate.now();
+        // pen: second 5 + third 4 + batch 10; book: second 1 + third 7
+        assertEquals(List.of(new DailySales(today, 19, new BigDecimal("38.00"))),
+                analyticsService.productDaily(pen.getId(), today, today));
+        assertEquals(List.of(new ClientDailySales(today, 2, 17, new BigDecimal("98.00"))),
+                analyticsService.clientDaily(bob.getId(), today, today));
+        List<ProductSales> top = analyticsService.topProducts(today, today, 10);
+        assertEquals(book.getId(), top.get(0).productId());
+        assertEquals(new BigDecimal("80.00"), top.get(0).revenue());
+    }
+
+    @Test
+    void legacyOrders_withoutClientProductOrDate_areSkippedByDeltasAndRebuild() {
+        // given: строки, которые схема V1 допускает - заказ без клиента с позицией без товара и заказ без даты
+        Client alice = client("legacy.alice@example.com");
+        Product pen = product("Legacy pen", 2);
+        UUID legacy = UUID.randomUUID();
+        UUID undated = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO orders (id, created_at, status, client_id, items_total) "
+                + "VALUES (?, now(), 'NEW', NULL, 2)", legacy);
+        jdbcTemplate.update("INSERT INTO order_products (id, order_id, product_id, quantity, unit_price) "
+                + "VALUES (?, ?, NULL, 2, 0)", UUID.randomUUID(), legacy);
+        jdbcTemplate.update("INSERT INTO orders (id, created_at, status, client_id, items_total, total_amount) "
+                + "VALUES (?, NULL, 'NEW', ?, 4, 8)", undated, alice.getId());
+        jdbcTemplate.update("INSERT INTO order_products (id, order_id, product_id, quantity, unit_price) "
+                + "VALUES (?, ?, ?, 4, 2)", UUID.randomUUID(), undated, pen.getId());
+
+        // when
+        orderService.addProduct(legacy, new OrderProductRequest(pen.getId(), 3));
+        orderService.changeProductQuantity(legacy, pen.getId(), 5);
+        orderService.changeProductQuantity(undated, pen.getId(), 1);
+        entityManager.flush();
+        List<Map<String, Object>> incremental = productRows(List.of(pen.getId()));
+        analyticsService.rebuild();
+
+        // then
+        LocalDate today = LocalDate.now();
+        assertEquals(productRows(List.of(pen.getId())), incremental);
+        assertEquals(List.of(new DailySales(today, 5, new BigDecimal("10.00"))),
+                analyticsService.productDaily(pen.getId(), today, today));
+        assertTrue(analyticsService.clientDaily(alice.getId(), today, today).isEmpty());
+
+        orderService.removeProduct(legacy, pen.getId());
+        orderService.delete(legacy);
+        orderService.delete(undated);
+        entityManager.flush();
+        assertTrue(analyticsService.productDaily(pen.getId(), today, today).isEmpty());
+    }
+
+    @Test
+    void productDaily_whenFromAfterTo_throwsInvalidRange() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(InvalidRangeException.class,
+                () -> analyticsService.productDaily(UUID.randomUUID(), today, today.minusDays(1)));
+    }
+
+    private List<Map<String, Object>> productRows(List<UUID> productIds) {
+        return jdbcTemplate.queryForList("""
+                SELECT product_id, day, units, revenue FROM sales_daily_product
+                WHERE product_id = ANY(?::uuid[]) AND (units <> 0 OR revenue <> 0)
+                ORDER BY product_id, day
+                """, toArray(productIds));
+    }
+
+    private List<Map<String, Object>> clientRows(List<UUID> clientIds) {
+        return jdbcTemplate.queryForList("""
+                SELECT client_id, day, orders, units, revenue FROM sales_daily_client
+                WHERE client_id = ANY(?::uuid[]) AND (orders <> 0 OR units <> 0 OR revenue <> 0)
+                ORDER BY client_id, day
+                """, toArray(clientIds));
+    }
+
+    private static String toArray(List<UUID> ids) {
+        return "{" + String.join(",", ids.stream().map(UUID::toString).toList()) + "}";
+    }
+
+    private Client client(String email) {
+        return clientRepository.save(Client.builder()
+                .firstName("Sales")
+                .lastName("Client")
+                .email(email)
+                .phone("+79001234567")
+                .build());
+    }
+
+    private Product product(String name, long price) {
+        return productRepository.saveAndFlush(ProductFixture.defaultProduct()
+                .name(name)
+                .price(BigDecimal.valueOf(price))
+                .build());
+    }
+}
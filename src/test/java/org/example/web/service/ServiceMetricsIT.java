@@ -0,0 +1,57 @@
+package org.example.web.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.web.dto.product.ProductFilter;
+import org.example.web.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ServiceMetricsIT {
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void serviceCall_isRecordedInAppServiceTimerByClassAndMethod() {
+        // given
+        long before = count("list", "none");
+
+        // when
+        productService.list(new ProductFilter(null, null, null), PageRequest.of(0, 10));
+
+        // then
+        assertEquals(before + 1, count("list", "none"));
+    }
+
+    @Test
+    void failedServiceCall_isTaggedWithException() {
+        // when
+        assertThrows(NotFoundException.class, () -> productService.getOne(UUID.randomUUID()));
+
+        // then
+        assertTrue(count("getOne", NotFoundException.class.getSimpleName()) >= 1);
+    }
+
+    private long count(String method, String exception) {
+        Timer timer = registry.find("app.service")
+                .tag("class", ProductService.class.getName())
+                .tag("method", method)
+                .tag("exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.web.support;
+
+import org.example.web.util.QueryCounter;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверки числа SQL-запросов, выполненных внутри действия (считает QueryCountingDataSource).
+ * В @Transactional-тестах INSERT/UPDATE уходят только при flush, поэтому перед замером
+ * удобно сделать entityManager.flush() и clear(), чтобы чтения не обслуживал контекст персистентности.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertQueryCount(int expected, Supplier<T> action) {
+        Measured<T> measured = measure(action);
+        assertEquals(expected, measured.statements(), "SQL statements executed");
+        return measured.result();
+    }
+
+    public static void assertQueryCount(int expected, Runnable action) {
+        assertQueryCount(expected, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T assertMaxQueryCount(int max, Supplier<T> action) {
+        Measured<T> measured = measure(action);
+        assertTrue(measured.statements() <= max,
+                "Expected at most " + max + " SQL statements but was " + measured.statements());
+        return measured.result();
+    }
+
+    private static <T> Measured<T> measure(Supplier<T> action) {
+        QueryCounter.Stats stats = QueryCounter.start();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            QueryCounter.stop();
+        }
+        return new Measured<>(result, stats.statements());
+    }
+
+    private record Measured<T>(T result, int statements) {
+    }
+}
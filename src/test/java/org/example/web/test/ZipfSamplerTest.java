@@ -0,0 +1,42 @@
+package org.example.web.test;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfSamplerTest {
+
+    @Test
+    void sample_staysInRangeAndFollowsPowerLaw() {
+        // given
+        ZipfSampler sampler = new ZipfSampler(1000, 1.0);
+        Random random = new Random(1);
+        int[] counts = new int[1001];
+
+        // when
+        for (int i = 0; i < 200_000; i++) {
+            int k = sampler.sample(random);
+            assertTrue(k >= 1 && k <= 1000, "rank out of range: " + k);
+            counts[k]++;
+        }
+
+        // then: при s = 1 первый ранг встречается вдвое чаще второго и в 10 раз чаще десятого
+        assertEquals(2.0, (double) counts[1] / counts[2], 0.1);
+        assertEquals(10.0, (double) counts[1] / counts[10], 1.0);
+    }
+
+    @Test
+    void sample_withSameSeed_isReproducible() {
+        // given
+        ZipfSampler sampler = new ZipfSampler(50_000, 1.1);
+        Random first = new Random(42);
+        Random second = new Random(42);
+
+        // when / then
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(sampler.sample(first), sampler.sample(second));
+        }
+    }
+}
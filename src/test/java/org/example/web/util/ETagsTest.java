@@ -0,0 +1,64 @@
+package org.example.web.util;
+
+import org.example.web.dto.order.OrderResponse;
+import org.example.web.dto.order.OrderVersion;
+import org.example.web.dto.orderProduct.OrderProductResponse;
+import org.example.web.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void of_whenOrder_matchesTagOfVersionAndProductNames() {
+        // given
+        UUID productId = UUID.randomUUID();
+        OrderResponse order = OrderResponse.builder()
+                .version(4L)
+                .items(List.of(new OrderProductResponse(productId, "Pen", 2, new BigDecimal("1.50"))))
+                .build();
+
+        // when
+        String tag = ETags.of(order);
+
+        // then
+        assertTrue(tag.startsWith("\"4."));
+        assertEquals(tag, ETags.of(new OrderVersion(4L, Map.of(productId, "Pen"))));
+        assertNotEquals(tag, ETags.of(new OrderVersion(4L, Map.of(productId, "Marker"))));
+        assertEquals(4L, ETags.parseIfMatch(tag));
+    }
+
+    @Test
+    void of_whenOnlyItemPriceDiffers_returnsSameTag() {
+        // given
+        UUID productId = UUID.randomUUID();
+        OrderResponse before = OrderResponse.builder().version(1L)
+                .items(List.of(new OrderProductResponse(productId, "Pen", 1, new BigDecimal("1.50")))).build();
+        OrderResponse after = OrderResponse.builder().version(1L)
+                .items(List.of(new OrderProductResponse(productId, "Pen", 1, new BigDecimal("9.99")))).build();
+
+        // when + then
+        assertEquals(ETags.of(before), ETags.of(after));
+    }
+
+    @Test
+    void parseIfMatch_whenPlainOrOrderTag_returnsVersion() {
+        assertEquals(5L, ETags.parseIfMatch("\"5\""));
+        assertEquals(5L, ETags.parseIfMatch("\"5.12\""));
+        assertNull(ETags.parseIfMatch("*"));
+        assertNull(ETags.parseIfMatch(null));
+    }
+
+    @Test
+    void parseIfMatch_whenWeakOrMalformed_throwsPreconditionFailed() {
+        assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("W/\"5\""));
+        assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("\"5.x\""));
+        assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("\"abc\""));
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.web.util;
+
+import org.example.web.exception.InvalidCursorException;
+import org.example.web.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCursorTest {
+
+    @Test
+    void encodeDecode_whenValidCursor_returnsSamePosition() {
+        // given
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2025, 9, 11, 14, 30, 0, 123_456_000), UUID.randomUUID());
+
+        // when
+        OrderCursor decoded = OrderCursor.decode(cursor.encode());
+
+        // then
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void of_whenCreatedAtHasNanos_truncatesToMicros() {
+        // given
+        Order order = Order.builder()
+                .id(UUID.randomUUID())
+                .createdAt(LocalDateTime.of(2025, 9, 11, 14, 30, 0, 123_456_789))
+                .build();
+
+        // when
+        OrderCursor cursor = OrderCursor.of(order);
+
+        // then
+        assertEquals(123_456_000, cursor.createdAt().getNano());
+        assertEquals(order.getId(), cursor.id());
+    }
+
+    @Test
+    void decode_whenGarbage_throwsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> OrderCursor.decode("not a cursor!"));
+        assertThrows(InvalidCursorException.class, () -> OrderCursor.decode(CursorCodec.encode("2025-09-11T14:30")));
+        assertThrows(InvalidCursorException.class, () -> OrderCursor.decode(CursorCodec.encode("yesterday", "abc")));
+    }
+}
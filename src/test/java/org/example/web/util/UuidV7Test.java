@@ -0,0 +1,86 @@
+package org.example.web.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void randomUuid_returnsVersion7WithRfcVariant() {
+        // when
+        UUID uuid = UuidV7.randomUuid();
+
+        // then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void randomUuid_embedsCurrentTimestamp() {
+        // given
+        long before = System.currentTimeMillis();
+
+        // when
+        UUID uuid = UuidV7.randomUuid();
+
+        // then
+        long ts = UuidV7.timestamp(uuid);
+        assertTrue(ts >= before && ts <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void next_whenManyInSameMillisecond_staysStrictlyIncreasing() {
+        // given
+        UuidV7 generator = new UuidV7();
+        long now = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.next(now));
+        }
+
+        // then
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, "not increasing at " + i);
+        }
+        // 10 000 значений не помещаются в 12-битный счётчик одной миллисекунды
+        assertTrue(UuidV7.timestamp(ids.get(ids.size() - 1)) > now);
+    }
+
+    @Test
+    void next_whenClockGoesBackwards_doesNotGoBackwards() {
+        // given
+        UuidV7 generator = new UuidV7();
+        long now = System.currentTimeMillis();
+        UUID first = generator.next(now);
+
+        // when
+        UUID second = generator.next(now - 5_000);
+
+        // then
+        assertTrue(first.compareTo(second) < 0);
+    }
+
+    @Test
+    void at_withSameSeed_returnsSameVersion7Uuid() {
+        // given
+        long millis = 1_700_000_000_000L;
+
+        // when
+        UUID first = UuidV7.at(millis, new Random(7));
+        UUID second = UuidV7.at(millis, new Random(7));
+
+        // then
+        assertEquals(first, second);
+        assertEquals(7, first.version());
+        assertEquals(2, first.variant());
+        assertEquals(millis, UuidV7.timestamp(first));
+    }
+}